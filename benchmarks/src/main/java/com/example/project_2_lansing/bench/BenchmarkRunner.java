@@ -0,0 +1,31 @@
+package com.example.project_2_lansing.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Runs every benchmark (or the ones matching the given patterns) with the
+ * gc profiler and publishes the results as JSON so they can be compared between builds.
+ */
+public class BenchmarkRunner {
+
+    static final String RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", RESULT_FILE));
+
+        if (args.length == 0)
+            options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        for (String pattern : args)
+            options.include(pattern);
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.project_2_lansing.bench;
+
+import java.util.Random;
+
+/**
+ * Copy of the original HelloApplication.playRound logic, kept as the baseline the engine is measured against.
+ * The label updates are replaced by the returned outcome so it can run without JavaFX.
+ */
+public class LegacyPlayRound {
+
+    int wins = 0;
+    int losses = 0;
+    int ties = 0;
+    int currentRound = 1;
+    double chanceToWin;
+
+    public LegacyPlayRound(double chanceToWin) {
+        this.chanceToWin = chanceToWin;
+    }
+
+    /*
+     * Take in the player's choice, randomly generate the computer's choice and compare to find the winner of a round.
+     */
+    public int playRound(int playerChoice) {
+
+        Random rand = new Random();
+        int computerChoice = rand.nextInt(3);
+        double tryToWin = rand.nextDouble();
+
+        //check the chance to win and affect the results
+        if (chanceToWin > 0.5) {
+            if (tryToWin < chanceToWin) {
+                if (playerChoice == 0)
+                    computerChoice = 2;
+                else if (playerChoice == 1)
+                    computerChoice = 0;
+                else
+                    computerChoice = 1;
+            }
+        }
+        else if (chanceToWin < 0.5) {
+            if (tryToWin > chanceToWin) {
+                if (playerChoice == 0)
+                    computerChoice = 1;
+                else if (playerChoice == 1)
+                    computerChoice = 2;
+                else
+                    computerChoice = 0;
+            }
+        }
+
+        if ((playerChoice == 0 && computerChoice == 1) || (playerChoice == 1 && computerChoice == 2) || (playerChoice == 2 && computerChoice == 0)) {
+            losses++;
+        }
+        else if ((playerChoice == 0 && computerChoice == 2) || (playerChoice == 1 && computerChoice == 0) || (playerChoice == 2 && computerChoice == 1)) {
+            wins++;
+        }
+        else {
+            ties++;
+        }
+
+        currentRound++;
+
+        return computerChoice;
+    }
+}
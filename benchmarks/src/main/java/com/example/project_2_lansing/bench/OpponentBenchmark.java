@@ -0,0 +1,61 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.BiasedOpponent;
+import com.example.project_2_lansing.PatternOpponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the computer to answer one move, including learning from it, for the biased and the
+ * pattern-learning opponents. The pattern opponent is warmed up with a long history first.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpponentBenchmark {
+
+    static final int MOVES = 1024;
+    static final int HISTORY = 1_000_000;
+
+    int[] playerMoves = new int[MOVES];
+    int index;
+    SplittableRandom rand = new SplittableRandom(42);
+    BiasedOpponent biased = new BiasedOpponent(0.2);
+    PatternOpponent pattern = new PatternOpponent();
+
+    @Setup
+    public void setUp() {
+        Random moves = new Random(42);
+        for (int i = 0; i < MOVES; i++)
+            playerMoves[i] = moves.nextInt(3);
+        for (int i = 0; i < HISTORY; i++)
+            pattern.observe(playerMoves[i & (MOVES - 1)]);
+    }
+
+    int nextMove() {
+        index = (index + 1) & (MOVES - 1);
+        return playerMoves[index];
+    }
+
+    @Benchmark
+    public int biased() {
+        int playerChoice = nextMove();
+        int computerChoice = biased.chooseMove(playerChoice, rand);
+        biased.observe(playerChoice);
+        return computerChoice;
+    }
+
+    @Benchmark
+    public int pattern() {
+        int playerChoice = nextMove();
+        int computerChoice = pattern.chooseMove(playerChoice, rand);
+        pattern.observe(playerChoice);
+        return computerChoice;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.RoundEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deciding who won once both moves are known: the original comparison chains,
+ * (player - computer) mod 3 arithmetic and a precomputed outcome[player][computer] lookup table.
+ * The engine decides with Ruleset's table, see RulesetBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutcomeBenchmark {
+
+    static final int ROUNDS = 4096;
+
+    // outcome for player * 3 + computer
+    static final byte[] OUTCOME_TABLE = {
+            RoundEngine.TIE, RoundEngine.LOSS, RoundEngine.WIN,
+            RoundEngine.WIN, RoundEngine.TIE, RoundEngine.LOSS,
+            RoundEngine.LOSS, RoundEngine.WIN, RoundEngine.TIE
+    };
+
+    int[] playerMoves = new int[ROUNDS];
+    int[] computerMoves = new int[ROUNDS];
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(42);
+        for (int i = 0; i < ROUNDS; i++) {
+            playerMoves[i] = rand.nextInt(3);
+            computerMoves[i] = rand.nextInt(3);
+        }
+    }
+
+    static byte branches(int playerChoice, int computerChoice) {
+        if ((playerChoice == 0 && computerChoice == 1) || (playerChoice == 1 && computerChoice == 2) || (playerChoice == 2 && computerChoice == 0))
+            return RoundEngine.LOSS;
+        else if ((playerChoice == 0 && computerChoice == 2) || (playerChoice == 1 && computerChoice == 0) || (playerChoice == 2 && computerChoice == 1))
+            return RoundEngine.WIN;
+        else
+            return RoundEngine.TIE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void branchChain(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(branches(playerMoves[i], computerMoves[i]));
+    }
+
+    static byte arithmetic(int playerChoice, int computerChoice) {
+        int diff = playerChoice - computerChoice;
+        return (byte) (diff < 0 ? diff + 3 : diff);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void arithmetic(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(arithmetic(playerMoves[i], computerMoves[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void lookupTable(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(OUTCOME_TABLE[playerMoves[i] * 3 + computerMoves[i]]);
+    }
+}
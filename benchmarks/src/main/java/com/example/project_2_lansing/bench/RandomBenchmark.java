@@ -0,0 +1,53 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Cost of the two random draws every round needs (a move and a bias roll) for each way of getting a generator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomBenchmark {
+
+    Random shared = new Random(42);
+    SplittableRandom splittable = new SplittableRandom(42);
+    RandomGenerator gameGenerator = new RandomSource(42).newGenerator();
+
+    @Benchmark
+    public double newRandomPerRound() {
+        Random rand = new Random();
+        return rand.nextInt(3) + rand.nextDouble();
+    }
+
+    @Benchmark
+    public double sharedRandom() {
+        return shared.nextInt(3) + shared.nextDouble();
+    }
+
+    @Benchmark
+    public double splittableRandom() {
+        return splittable.nextInt(3) + splittable.nextDouble();
+    }
+
+    @Benchmark
+    public double randomSourceGenerator() {
+        return gameGenerator.nextInt(3) + gameGenerator.nextDouble();
+    }
+
+    @Benchmark
+    public double threadLocalRandom() {
+        ThreadLocalRandom rand = ThreadLocalRandom.current();
+        return rand.nextInt(3) + rand.nextDouble();
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.BinaryGameServer;
+import com.example.project_2_lansing.Difficulty;
+import com.example.project_2_lansing.LatencyHistogram;
+import com.example.project_2_lansing.RandomSource;
+import com.example.project_2_lansing.SessionRegistry;
+import com.example.project_2_lansing.SessionTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.example.project_2_lansing.BinaryGameServer.FRAME_BYTES;
+
+/**
+ * Load generator for BinaryGameServer. Every connection starts its games, then plays them round robin
+ * with up to depth requests in flight, and the latency of each play from the time it is sent to the time
+ * its reply is read goes into a LatencyHistogram. A warm-up pass of a tenth of the requests comes first.
+ * Without --port it starts a server in this process on a free loopback port, so client and server share
+ * the machine's cores. Not a JMH benchmark, run it with:
+ * java -cp benchmarks/target/benchmarks.jar com.example.project_2_lansing.bench.RemotePlayLoad
+ *     [--port=n] [--compact=capacity] [--connections=4] [--depth=64] [--requests=2000000] [--games=64] [--difficulty=HARD]
+ */
+public class RemotePlayLoad {
+
+    int port = -1;
+    int compactCapacity = 0;
+    int connections = 4;
+    int depth = 64;
+    long requests = 2_000_000;
+    int games = 64;
+    Difficulty difficulty = Difficulty.HARD;
+
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder over = new LongAdder();
+    final LongAdder failed = new LongAdder();
+
+    public static void main(String[] args) throws Exception {
+        RemotePlayLoad load = new RemotePlayLoad();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port="))
+                load.port = Integer.parseInt(value);
+            else if (arg.startsWith("--compact="))
+                load.compactCapacity = Integer.parseInt(value);
+            else if (arg.startsWith("--connections="))
+                load.connections = Integer.parseInt(value);
+            else if (arg.startsWith("--depth="))
+                load.depth = Integer.parseInt(value);
+            else if (arg.startsWith("--requests="))
+                load.requests = Long.parseLong(value);
+            else if (arg.startsWith("--games="))
+                load.games = Integer.parseInt(value);
+            else if (arg.startsWith("--difficulty="))
+                load.difficulty = Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+
+        BinaryGameServer server = null;
+        if (load.port < 0) {
+            server = load.compactCapacity > 0
+                    ? new BinaryGameServer(new SessionTable(load.compactCapacity, new RandomSource(42)), 0)
+                    : new BinaryGameServer(new SessionRegistry(new RandomSource(42)), 0);
+            load.port = server.start();
+        }
+        try {
+            load.run(load.requests / 10);
+            load.latency.reset();
+            load.over.reset();
+            load.failed.reset();
+
+            long start = System.nanoTime();
+            load.run(load.requests);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            load.report(seconds);
+        }
+        finally {
+            if (server != null)
+                server.close();
+        }
+    }
+
+    /*
+     * Play the given number of rounds spread over every connection, each on a thread of its own.
+     */
+    void run(long total) throws InterruptedException {
+        Thread[] threads = new Thread[connections];
+        for (int i = 0; i < connections; i++) {
+            long share = total / connections + (i < total % connections ? 1 : 0);
+            int seed = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    play(share, seed);
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, "load-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+    }
+
+    /*
+     * Start this connection's games, play the rounds pipelined and end the games.
+     */
+    void play(long rounds, int seed) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ByteBuffer out = ByteBuffer.allocateDirect(Math.max(depth, games) * FRAME_BYTES);
+            ByteBuffer in = ByteBuffer.allocateDirect(Math.max(depth, games) * FRAME_BYTES);
+
+            int roundsPerGame = (int) Math.min(SessionTable.MAX_ROUNDS, rounds / games + 1);
+            long[] ids = new long[games];
+            for (int i = 0; i < games; i++)
+                frame(out, roundsPerGame, i, BinaryGameServer.NEW, difficulty.ordinal());
+            exchange(channel, out, in, games, ids);
+
+            // The send time of every request in flight, by sequence number
+            long[] sentAt = new long[Integer.highestOneBit(depth * 2 - 1)];
+            int mask = sentAt.length - 1;
+            SplittableRandom random = new SplittableRandom(seed);
+            long sent = 0;
+            long received = 0;
+            while (received < rounds) {
+                while (sent - received < depth && sent < rounds) {
+                    sentAt[(int) sent & mask] = System.nanoTime();
+                    frame(out, ids[(int) (sent % games)], (int) sent, BinaryGameServer.PLAY, random.nextInt(3));
+                    sent++;
+                }
+                out.flip();
+                while (out.hasRemaining())
+                    channel.write(out);
+                out.clear();
+
+                if (channel.read(in) < 0)
+                    throw new IOException("The server closed the connection.");
+                in.flip();
+                long now = System.nanoTime();
+                while (in.remaining() >= FRAME_BYTES) {
+                    in.getLong();
+                    int sequence = in.getInt();
+                    byte status = in.get();
+                    in.position(in.position() + 3);
+                    if (sequence != (int) received)
+                        throw new IOException("Reply " + sequence + " came back when " + received + " was expected.");
+                    latency.record(now - sentAt[sequence & mask]);
+                    if (status == BinaryGameServer.OVER)
+                        over.increment();
+                    else if (status != BinaryGameServer.OK)
+                        failed.increment();
+                    received++;
+                }
+                in.compact();
+            }
+
+            for (int i = 0; i < games; i++)
+                frame(out, ids[i], i, BinaryGameServer.END, 0);
+            exchange(channel, out, in, games, null);
+        }
+    }
+
+    static void frame(ByteBuffer out, long session, int sequence, byte op, int arg) {
+        out.putLong(session).putInt(sequence).put(op).put((byte) arg).putShort((short) 0);
+    }
+
+    /*
+     * Send the frames in the buffer and read the given number of replies, keeping their sessions when asked.
+     */
+    void exchange(SocketChannel channel, ByteBuffer out, ByteBuffer in, int replies, long[] sessions) throws IOException {
+        out.flip();
+        while (out.hasRemaining())
+            channel.write(out);
+        out.clear();
+        for (int i = 0; i < replies; ) {
+            if (channel.read(in) < 0)
+                throw new IOException("The server closed the connection.");
+            in.flip();
+            while (in.remaining() >= FRAME_BYTES && i < replies) {
+                long session = in.getLong();
+                in.getInt();
+                if (in.get() != BinaryGameServer.OK)
+                    throw new IOException("The server refused request " + i + ".");
+                in.position(in.position() + 3);
+                if (sessions != null)
+                    sessions[i] = session;
+                i++;
+            }
+            in.compact();
+        }
+    }
+
+    void report(double seconds) {
+        long count = latency.count();
+        System.out.printf("%,d plays on %d connections, %d in flight each, in %.2f s%n", count, connections, depth, seconds);
+        System.out.printf("throughput %,.0f plays/s%n", count / seconds);
+        System.out.printf("latency    p50 %,.1f us  p99 %,.1f us  p99.9 %,.1f us  max %,.1f us%n",
+                latency.percentile(50) / 1e3, latency.percentile(99) / 1e3, latency.percentile(99.9) / 1e3, latency.max() / 1e3);
+        if (over.sum() > 0 || failed.sum() > 0)
+            System.out.printf("%,d plays came after their game was over, %,d failed%n", over.sum(), failed.sum());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.RoundEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rounds per second for the original playRound and for the engine, at every difficulty tier.
+ * Run with the gc profiler (the default in BenchmarkRunner) to see the allocation rate per round.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+
+    static final int MOVES = 1024;
+    static final int BATCH = 256;
+
+    // "Can I win, please?", "Easy", "Normal", "Hard" and "You are not ready"
+    @Param({"0.8", "0.6", "0.5", "0.4", "0.2"})
+    double chanceToWin;
+
+    int[] playerMoves = new int[MOVES];
+    int[] batchMoves = new int[BATCH];
+    int[] computerMoves = new int[BATCH];
+    byte[] outcomes = new byte[BATCH];
+    int index;
+
+    LegacyPlayRound legacy;
+    RoundEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(42);
+        for (int i = 0; i < MOVES; i++)
+            playerMoves[i] = rand.nextInt(3);
+        System.arraycopy(playerMoves, 0, batchMoves, 0, BATCH);
+        legacy = new LegacyPlayRound(chanceToWin);
+        engine = new RoundEngine();
+        engine.setChanceToWin(chanceToWin);
+    }
+
+    int nextMove() {
+        index = (index + 1) & (MOVES - 1);
+        return playerMoves[index];
+    }
+
+    @Benchmark
+    public int legacyPlayRound() {
+        return legacy.playRound(nextMove());
+    }
+
+    @Benchmark
+    public int enginePlayRound() {
+        return engine.playRound(nextMove());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] engineBatch() {
+        engine.playRounds(batchMoves, computerMoves, outcomes);
+        return outcomes;
+    }
+}
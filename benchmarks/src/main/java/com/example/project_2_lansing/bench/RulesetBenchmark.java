@@ -0,0 +1,98 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.Ruleset;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The original branches against the Ruleset tables, for both halves of a round: mapping the player's
+ * move to the computer's forced move (the nested if ladder against beats and losesTo) and deciding
+ * the outcome (the comparison chains against the outcome table). The five move variant shows the
+ * tables cost the same however many moves there are.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesetBenchmark {
+
+    static final int ROUNDS = 4096;
+
+    int[] playerMoves = new int[ROUNDS];
+    int[] computerMoves = new int[ROUNDS];
+    int[] variantPlayerMoves = new int[ROUNDS];
+    int[] variantComputerMoves = new int[ROUNDS];
+    Ruleset classic = Ruleset.CLASSIC;
+    Ruleset lizardSpock = Ruleset.LIZARD_SPOCK;
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(42);
+        for (int i = 0; i < ROUNDS; i++) {
+            playerMoves[i] = rand.nextInt(3);
+            computerMoves[i] = rand.nextInt(3);
+            variantPlayerMoves[i] = rand.nextInt(lizardSpock.size());
+            variantComputerMoves[i] = rand.nextInt(lizardSpock.size());
+        }
+    }
+
+    /*
+     * The original mapping from the player's choice to the move that lets the player win, or to the move that beats the player.
+     */
+    static int ladder(int playerChoice, boolean playerWins) {
+        if (playerWins) {
+            if (playerChoice == 0)
+                return 2;
+            else if (playerChoice == 1)
+                return 0;
+            else
+                return 1;
+        }
+        if (playerChoice == 0)
+            return 1;
+        else if (playerChoice == 1)
+            return 2;
+        else
+            return 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void forcedMoveLadder(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(ladder(playerMoves[i], (computerMoves[i] & 1) == 0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void forcedMoveTables(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume((computerMoves[i] & 1) == 0 ? classic.beats(playerMoves[i]) : classic.losesTo(playerMoves[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void outcomeBranches(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(OutcomeBenchmark.branches(playerMoves[i], computerMoves[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void outcomeClassicTable(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(classic.outcome(playerMoves[i], computerMoves[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public void outcomeLizardSpockTable(Blackhole bh) {
+        for (int i = 0; i < ROUNDS; i++)
+            bh.consume(lizardSpock.outcome(variantPlayerMoves[i], variantComputerMoves[i]));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.OutcomeScorer;
+import com.example.project_2_lansing.RoundEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring columns of rounds for offline analysis: a round at a time through the engine's outcome and
+ * counted in branches, OutcomeScorer's branch-free scalar loop, and OutcomeScorer with the Vector API,
+ * with and without writing the outcome column. Scores are in rounds per second. The fork adds the
+ * jdk.incubator.vector module so OutcomeScorer.score takes the vector path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScoringBenchmark {
+
+    static final int ROUNDS = 1 << 20;
+
+    byte[] playerMoves = new byte[ROUNDS];
+    byte[] computerMoves = new byte[ROUNDS];
+    byte[] outcomes = new byte[ROUNDS];
+
+    @Setup
+    public void setUp() {
+        if (!OutcomeScorer.isVectorized())
+            throw new IllegalStateException("The Vector API is not available in this JVM.");
+        Random rand = new Random(42);
+        for (int i = 0; i < ROUNDS; i++) {
+            playerMoves[i] = (byte) rand.nextInt(3);
+            computerMoves[i] = (byte) rand.nextInt(3);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public long perRound() {
+        long wins = 0;
+        long losses = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            byte outcome = RoundEngine.outcome(playerMoves[i], computerMoves[i]);
+            if (outcome == RoundEngine.WIN)
+                wins++;
+            else if (outcome == RoundEngine.LOSS)
+                losses++;
+        }
+        return wins * 31 + losses;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public OutcomeScorer.Counts scalar() {
+        return OutcomeScorer.scoreScalar(playerMoves, computerMoves, null, 0, ROUNDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public OutcomeScorer.Counts scalarWithOutcomes() {
+        return OutcomeScorer.scoreScalar(playerMoves, computerMoves, outcomes, 0, ROUNDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public OutcomeScorer.Counts vector() {
+        return OutcomeScorer.score(playerMoves, computerMoves);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public OutcomeScorer.Counts vectorWithOutcomes() {
+        return OutcomeScorer.score(playerMoves, computerMoves, outcomes);
+    }
+}
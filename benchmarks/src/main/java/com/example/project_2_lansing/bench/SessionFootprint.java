@@ -0,0 +1,66 @@
+package com.example.project_2_lansing.bench;
+
+import com.example.project_2_lansing.Difficulty;
+import com.example.project_2_lansing.RandomSource;
+import com.example.project_2_lansing.SessionRegistry;
+import com.example.project_2_lansing.SessionTable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Bytes of heap each hosted game keeps, as GameSessions in a SessionRegistry and packed into a SessionTable.
+ * Every game has played a few rounds, so the learning opponents and statistics hold what a game in play holds.
+ * Heap use is read after a full collection before and after the games are made. Not a JMH benchmark, run it with:
+ * java -cp benchmarks/target/benchmarks.jar com.example.project_2_lansing.bench.SessionFootprint [games]
+ */
+public class SessionFootprint {
+
+    static final int DEFAULT_GAMES = 200_000;
+    static final int ROUNDS_PLAYED = 10;
+
+    static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        Difficulty[] difficulties = Difficulty.values();
+
+        long before = usedAfterGc();
+        SessionRegistry registry = new SessionRegistry(new RandomSource(42));
+        for (int i = 0; i < games; i++) {
+            var session = registry.create("player" + i, difficulties[i % difficulties.length], 100);
+            for (int round = 0; round < ROUNDS_PLAYED; round++)
+                session.play(round % 3);
+        }
+        long registryBytes = usedAfterGc() - before;
+        report("GameSession in SessionRegistry", games, registryBytes, registry.size());
+        registry = null;
+
+        before = usedAfterGc();
+        SessionTable table = new SessionTable(games, new RandomSource(42));
+        for (int i = 0; i < games; i++) {
+            long id = table.create(difficulties[i % difficulties.length], 100);
+            for (int round = 0; round < ROUNDS_PLAYED; round++)
+                table.play(id, round % 3);
+        }
+        long tableBytes = usedAfterGc() - before;
+        report("SessionTable", games, tableBytes, table.size());
+        System.out.printf("The table keeps %.1fx less per game%n", (double) registryBytes / tableBytes);
+    }
+
+    static void report(String host, int games, long bytes, int size) {
+        System.out.printf("%-32s %,d games in %,d KB: %,.1f bytes per game%n", host, size, bytes / 1024, (double) bytes / games);
+    }
+
+    /*
+     * Return the heap in use once everything unreachable has been collected.
+     */
+    static long usedAfterGc() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.project_2_lansing.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first frame of a cold start: each invocation starts the runtime image built by mvn -Pstartup package
+ * with --exit-after-first-frame and stops the clock when the game reports its first frame. Runs with the class
+ * data sharing archive of the image and without it, to show what the archive saves.
+ * The image is looked for in target/app, or wherever -Dstartup.image points. It needs a display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    static final String MAIN = "com.example.project_2_lansing/com.example.project_2_lansing.HelloApplication";
+
+    @Param({"auto", "off"})
+    String share;
+
+    Path java;
+    Path dataFolder;
+    Process process;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path image = Path.of(System.getProperty("startup.image", "target/app"));
+        java = image.resolve("bin").resolve("java");
+        if (!Files.isExecutable(java))
+            throw new IllegalStateException(java + " was not found, build the image with mvn -Pstartup package.");
+        // Keep the games' files out of the player's own
+        dataFolder = Files.createTempDirectory("startup-benchmark");
+    }
+
+    @Benchmark
+    public void timeToFirstFrame() throws IOException, InterruptedException {
+        process = new ProcessBuilder(List.of(java.toString(), "-Xshare:" + share, "-m", MAIN,
+                "--exit-after-first-frame",
+                "--log=" + dataFolder.resolve("matches.log"),
+                "--profiles=" + dataFolder.resolve("profiles.db"),
+                "--record=" + dataFolder.resolve("sessions.rec")))
+                .redirectErrorStream(true)
+                .start();
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String line;
+        while ((line = out.readLine()) != null) {
+            if (line.startsWith("First frame"))
+                return;
+        }
+        throw new IllegalStateException("The game stopped before its first frame with exit code " + process.waitFor());
+    }
+
+    /*
+     * Let the game shut down outside the measurement.
+     */
+    @TearDown(Level.Invocation)
+    public void waitForExit() throws InterruptedException {
+        if (!process.waitFor(10, TimeUnit.SECONDS))
+            process.destroyForcibly().waitFor();
+    }
+}
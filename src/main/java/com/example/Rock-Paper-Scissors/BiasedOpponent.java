@@ -0,0 +1,56 @@
+package com.example.project_2_lansing;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The original computer: a random move nudged toward the player winning (chance to win above 0.5)
+ * or toward the computer winning (below 0.5). Normal difficulty (0.5) is left unbiased.
+ * It keeps no state, so one instance can be shared by any number of games of the same ruleset.
+ */
+public class BiasedOpponent implements Opponent {
+
+    private final double chanceToWin;
+    private final Ruleset ruleset;
+
+    public BiasedOpponent(double chanceToWin) {
+        this(chanceToWin, Ruleset.CLASSIC);
+    }
+
+    public BiasedOpponent(double chanceToWin, Ruleset ruleset) {
+        this.chanceToWin = chanceToWin;
+        this.ruleset = ruleset;
+    }
+
+    /*
+     * Pick a random move, then with the bias roll pick a move the player beats (chance to win above
+     * 0.5) or one that beats the player (below 0.5) from the ruleset's tables.
+     */
+    @Override
+    public int chooseMove(int playerChoice, RandomGenerator rand) {
+        int computerChoice = rand.nextInt(ruleset.size());
+        double tryToWin = rand.nextDouble();
+
+        if (chanceToWin > 0.5) {
+            if (tryToWin < chanceToWin)
+                computerChoice = ruleset.beats(playerChoice);
+        }
+        else if (chanceToWin < 0.5) {
+            if (tryToWin > chanceToWin)
+                computerChoice = ruleset.losesTo(playerChoice);
+        }
+
+        return computerChoice;
+    }
+
+    /*
+     * Only normal difficulty plays without looking at the player's move.
+     */
+    @Override
+    public boolean peeks() {
+        return chanceToWin != 0.5;
+    }
+
+    public double getChanceToWin() {
+        return chanceToWin;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Remote play over a compact binary protocol on the loopback interface. One thread runs a selector
+ * over every connection, so a connection costs two buffers instead of a thread. Games are hosted in a
+ * SessionRegistry or a SessionTable, the same ones GameServer takes text commands for.
+ *
+ * Every request and every reply is a frame of FRAME_BYTES bytes, big-endian:
+ * request  session (8)  sequence (4)  op (1)  move or difficulty (1)  unused (2)
+ * reply    session (8)  sequence (4)  status (1)  computer move (1)  outcome (1)  unused (1)
+ * The ops are NEW, which takes the difficulty's ordinal and the number of rounds in place of the session
+ * and replies with the new session, PLAY, which takes a move code and replies with the computer's move and
+ * the outcome, and END. The reply carries the request's sequence number so a client can match them up.
+ * A reply's status is OK, OVER when the game has no rounds left, NO_SESSION, BAD_REQUEST, FULL when no
+ * more games can be hosted, or ERROR when the request failed otherwise. A round that was played is always
+ * answered with its move and outcome, even when it could not be logged.
+ *
+ * Requests are pipelined: a client may send any number of frames without waiting, the server plays every
+ * whole frame it has read and sends the replies back in one write. Replies come back in request order.
+ * A client that stops reading its replies is not read from until they have been written.
+ */
+public class BinaryGameServer {
+
+    public static final int FRAME_BYTES = 16;
+
+    public static final byte NEW = 1;
+    public static final byte PLAY = 2;
+    public static final byte END = 3;
+
+    public static final byte OK = 0;
+    public static final byte OVER = 1;
+    public static final byte NO_SESSION = 2;
+    public static final byte BAD_REQUEST = 3;
+    public static final byte FULL = 4;
+    public static final byte ERROR = 5;
+
+    // Room for this many frames each way per connection
+    static final int BUFFERED_FRAMES = 4096;
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    // Games are hosted in the registry, or in the table when they are compact
+    private final SessionRegistry registry;
+    private final SessionTable table;
+    private final int port;
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    // Expires and evicts the games when there is one
+    private SessionScheduler scheduler;
+
+    public BinaryGameServer(SessionRegistry registry, int port) {
+        this.registry = registry;
+        this.table = null;
+        this.port = port;
+    }
+
+    public BinaryGameServer(SessionTable table, int port) {
+        this.registry = null;
+        this.table = table;
+        this.port = port;
+    }
+
+    /*
+     * Put the games on the clock of a scheduler for the same registry or table.
+     */
+    public void setScheduler(SessionScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /*
+     * Open the port. Return the port actually bound, which is useful when asked for port 0.
+     */
+    public synchronized int bind() throws IOException {
+        if (serverChannel == null) {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }
+        return getPort();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /*
+     * Serve connections on the calling thread until the server is closed.
+     */
+    public void serve() throws IOException {
+        bind();
+        try {
+            while (serverChannel.isOpen()) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept();
+                    else
+                        serve(key);
+                }
+            }
+        }
+        finally {
+            for (SelectionKey key : selector.keys())
+                key.channel().close();
+            selector.close();
+        }
+    }
+
+    /*
+     * Start serving on a daemon thread and return the port.
+     */
+    public int start() throws IOException {
+        int bound = bind();
+        Thread thread = new Thread(() -> {
+            try {
+                serve();
+            }
+            catch (IOException ex) {
+                System.err.println("The binary game server stopped: " + ex.getMessage());
+            }
+        }, "binary-game-server");
+        thread.setDaemon(true);
+        thread.start();
+        return bound;
+    }
+
+    public void close() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+            selector.wakeup();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            // replies are written a batch at a time, so there is nothing for Nagle to wait for
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection());
+        }
+    }
+
+    /*
+     * Read what the client has sent, play every whole frame and write the replies.
+     */
+    private void serve(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable() && channel.read(connection.in) < 0) {
+                channel.close();
+                return;
+            }
+            // Frames left over for want of room are played as soon as the replies before them are written
+            do {
+                answer(connection);
+                connection.out.flip();
+                channel.write(connection.out);
+                connection.out.compact();
+            } while (connection.out.position() == 0 && connection.in.position() >= FRAME_BYTES);
+            // Wait to write when the replies did not all fit in the socket, and stop reading while no more fit in the buffer
+            int interest = 0;
+            if (connection.out.position() > 0)
+                interest |= SelectionKey.OP_WRITE;
+            if (connection.out.remaining() >= FRAME_BYTES && connection.in.hasRemaining())
+                interest |= SelectionKey.OP_READ;
+            key.interestOps(interest);
+        }
+        catch (IOException ex) {
+            // the client went away, its sessions stay hosted until ended
+            key.cancel();
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+            }
+        }
+    }
+
+    /*
+     * Play the whole frames that have been read for as long as there is room for the replies.
+     */
+    private void answer(Connection connection) {
+        ByteBuffer in = connection.in;
+        ByteBuffer out = connection.out;
+        in.flip();
+        while (in.remaining() >= FRAME_BYTES && out.remaining() >= FRAME_BYTES) {
+            long session = in.getLong();
+            int sequence = in.getInt();
+            byte op = in.get();
+            byte arg = in.get();
+            in.getShort();
+            execute(session, sequence, op, arg, out);
+        }
+        in.compact();
+    }
+
+    /*
+     * Run one request and put its reply in the buffer.
+     */
+    void execute(long session, int sequence, byte op, byte arg, ByteBuffer out) {
+        byte status = OK;
+        int computerChoice = -1;
+        int outcome = -1;
+        try {
+            switch (op) {
+                case NEW -> {
+                    if (arg < 0 || arg >= DIFFICULTIES.length || session <= 0 || session > Integer.MAX_VALUE)
+                        status = BAD_REQUEST;
+                    else if (table != null)
+                        session = table.create(DIFFICULTIES[arg], (int) session);
+                    else
+                        session = registry.create("", DIFFICULTIES[arg], (int) session).getId();
+                    if (status == OK && scheduler != null)
+                        scheduler.created(session);
+                }
+                case PLAY -> {
+                    if (arg < RoundEngine.ROCK || arg > RoundEngine.SCISSORS)
+                        status = BAD_REQUEST;
+                    else {
+                        if (table != null)
+                            computerChoice = table.play(session, arg);
+                        else {
+                            GameSession game = registry.get(session);
+                            if (game == null)
+                                status = NO_SESSION;
+                            else
+                                computerChoice = game.play(arg);
+                        }
+                        if (computerChoice >= 0) {
+                            outcome = RoundEngine.outcome(arg, computerChoice);
+                            if (scheduler != null)
+                                scheduler.played(session);
+                        }
+                        else if (status == OK)
+                            status = OVER;
+                    }
+                }
+                case END -> {
+                    boolean removed;
+                    if (scheduler != null)
+                        removed = scheduler.evict(session);
+                    else
+                        removed = table != null ? table.remove(session) : registry.remove(session) != null;
+                    if (!removed)
+                        status = NO_SESSION;
+                }
+                default -> status = BAD_REQUEST;
+            }
+        }
+        catch (IllegalStateException ex) {
+            status = FULL;
+        }
+        catch (IllegalArgumentException ex) {
+            status = op == NEW ? BAD_REQUEST : NO_SESSION;
+        }
+        catch (UncheckedIOException ex) {
+            status = ERROR;
+            computerChoice = -1;
+            outcome = -1;
+        }
+        if (op == NEW && status != OK)
+            session = 0;
+        out.putLong(session).putInt(sequence).put(status).put((byte) computerChoice).put((byte) outcome).put((byte) 0);
+    }
+
+    /**
+     * The buffers of one client, requests read but not yet played and replies not yet written.
+     */
+    static final class Connection {
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFERED_FRAMES * FRAME_BYTES);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFERED_FRAMES * FRAME_BYTES);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.project_2_lansing;
+
+/**
+ * The difficulty tiers offered on the main menu. The chance to win is the share of rounds the
+ * computer is nudged toward letting the player win (above 0.5) or toward winning itself (below 0.5).
+ * Normal (0.5) is only used to identify that the computer plays fair. The mind reader has no chance
+ * to win, it learns the player's patterns instead.
+ */
+public enum Difficulty {
+
+    CAN_I_WIN("Can I win, please?", 0.8),
+    EASY("Easy", 0.6),
+    NORMAL("Normal", 0.5),
+    HARD("Hard", 0.4),
+    NOT_READY("You are not ready", 0.2),
+    MIND_READER("Mind reader", Double.NaN);
+
+    private final String label;
+    private final double chanceToWin;
+
+    Difficulty(String label, double chanceToWin) {
+        this.label = label;
+        this.chanceToWin = chanceToWin;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getChanceToWin() {
+        return chanceToWin;
+    }
+
+    /*
+     * Return true for the tiers that play the learning opponent instead of the biased one.
+     */
+    public boolean isAdaptive() {
+        return Double.isNaN(chanceToWin);
+    }
+
+    /*
+     * Return the biased tier whose chance to win is nearest the given one.
+     */
+    public static Difficulty nearest(double chanceToWin) {
+        Difficulty nearest = NORMAL;
+        for (Difficulty difficulty : values()) {
+            if (!difficulty.isAdaptive()
+                    && Math.abs(difficulty.chanceToWin - chanceToWin) < Math.abs(nearest.chanceToWin - chanceToWin))
+                nearest = difficulty;
+        }
+        return nearest;
+    }
+
+    /*
+     * Make the computer for a new game at this difficulty.
+     */
+    public Opponent newOpponent() {
+        return newOpponent(Ruleset.CLASSIC);
+    }
+
+    /*
+     * Make the computer for a new game at this difficulty under other rules.
+     */
+    public Opponent newOpponent(Ruleset ruleset) {
+        return isAdaptive() ? new PatternOpponent(ruleset) : new BiasedOpponent(chanceToWin, ruleset);
+    }
+}
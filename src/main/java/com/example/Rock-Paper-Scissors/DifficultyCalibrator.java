@@ -0,0 +1,190 @@
+package com.example.project_2_lansing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo calibration of the difficulty tiers. Simulates rounds on every core with fork/join,
+ * reports the real win/loss/tie distribution of each tier with 95% confidence intervals and can
+ * solve for the chance to win that gives a target win rate.
+ * Each task counts into its own array and the arrays are added together when the tasks join, so
+ * workers never write to shared state.
+ * It does not need JavaFX, run it from the class path:
+ * java -cp target/classes com.example.project_2_lansing.DifficultyCalibrator [rounds] [--target=0.45] [--seed=n]
+ */
+public class DifficultyCalibrator {
+
+    // Rounds a single task simulates before it stops splitting
+    static final long CHUNK = 1L << 22;
+    // z value for a 95% confidence interval
+    static final double Z_95 = 1.959964;
+    // Rounds simulated for every step of the solver
+    static final long SOLVER_ROUNDS = 50_000_000L;
+    static final int SOLVER_STEPS = 30;
+
+    private final ForkJoinPool pool;
+    private final RandomSource randomSource;
+
+    public DifficultyCalibrator(ForkJoinPool pool, RandomSource randomSource) {
+        this.pool = pool;
+        this.randomSource = randomSource;
+    }
+
+    /*
+     * Counts of wins, losses and ties for one chance to win, with the derived rates.
+     */
+    public record Distribution(double chanceToWin, long wins, long losses, long ties) {
+
+        public long rounds() {
+            return wins + losses + ties;
+        }
+
+        public double rate(long count) {
+            return (double) count / rounds();
+        }
+
+        /*
+         * Half the width of the 95% confidence interval of a rate, using the normal approximation
+         * which is more than close enough for millions of rounds.
+         */
+        public double margin(long count) {
+            double p = rate(count);
+            return Z_95 * Math.sqrt(p * (1 - p) / rounds());
+        }
+
+        public double winRate() {
+            return rate(wins);
+        }
+    }
+
+    /*
+     * Simulate the given number of rounds at one chance to win across the whole pool.
+     */
+    public Distribution simulate(double chanceToWin, long rounds) {
+        long[] counts = pool.invoke(new SimulationTask(chanceToWin, rounds, randomSource.split()));
+        return new Distribution(chanceToWin, counts[RoundEngine.WIN], counts[RoundEngine.LOSS], counts[RoundEngine.TIE]);
+    }
+
+    /*
+     * Find the chance to win whose simulated win rate is closest to the target with a bisection.
+     * The win rate jumps at 0.5 because the bias changes direction there, so win rates between
+     * 1/6 and 1/3 or between 1/3 and 2/3 cannot be hit exactly and the closest edge is returned.
+     */
+    public Distribution solve(double targetWinRate) {
+        double low = 0;
+        double high = 1;
+        Distribution best = null;
+        for (int step = 0; step < SOLVER_STEPS; step++) {
+            double middle = (low + high) / 2;
+            Distribution result = simulate(middle, SOLVER_ROUNDS);
+            if (best == null || Math.abs(result.winRate() - targetWinRate) < Math.abs(best.winRate() - targetWinRate))
+                best = result;
+            if (result.winRate() < targetWinRate)
+                low = middle;
+            else
+                high = middle;
+        }
+        return best;
+    }
+
+    /*
+     * The win rate the bias in RoundEngine should give, to check the simulation against.
+     */
+    public static double expectedWinRate(double chanceToWin) {
+        if (chanceToWin > 0.5)
+            return chanceToWin + (1 - chanceToWin) / 3;
+        else if (chanceToWin < 0.5)
+            return chanceToWin / 3;
+        return 1.0 / 3;
+    }
+
+    /*
+     * Fork/join task that halves its rounds until they fit in a chunk. Every half gets its own
+     * stream split from the parent's, so the result only depends on the seed and the round count.
+     */
+    static class SimulationTask extends RecursiveTask<long[]> {
+
+        private final double chanceToWin;
+        private final long rounds;
+        private final RandomGenerator.SplittableGenerator rand;
+
+        SimulationTask(double chanceToWin, long rounds, RandomGenerator.SplittableGenerator rand) {
+            this.chanceToWin = chanceToWin;
+            this.rounds = rounds;
+            this.rand = rand;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (rounds <= CHUNK)
+                return simulateChunk();
+
+            long half = rounds / 2;
+            SimulationTask left = new SimulationTask(chanceToWin, half, rand.split());
+            SimulationTask right = new SimulationTask(chanceToWin, rounds - half, rand.split());
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++)
+                counts[i] += leftCounts[i];
+            return counts;
+        }
+
+        private long[] simulateChunk() {
+            RoundEngine engine = new RoundEngine(rand);
+            engine.setChanceToWin(chanceToWin);
+            long[] counts = new long[3];
+            for (long i = 0; i < rounds; i++) {
+                int playerChoice = rand.nextInt(3);
+                counts[RoundEngine.outcome(playerChoice, engine.computerChoice(playerChoice))]++;
+            }
+            return counts;
+        }
+    }
+
+    /*
+     * Print one line of the report.
+     */
+    static void report(String name, Distribution result) {
+        System.out.printf("%-20s %.3f  win %.4f +/-%.4f  loss %.4f +/-%.4f  tie %.4f +/-%.4f  (expected win %.4f)%n",
+                name, result.chanceToWin(),
+                result.winRate(), result.margin(result.wins()),
+                result.rate(result.losses()), result.margin(result.losses()),
+                result.rate(result.ties()), result.margin(result.ties()),
+                expectedWinRate(result.chanceToWin()));
+    }
+
+    public static void main(String[] args) {
+        long rounds = 1_000_000_000L;
+        Double target = null;
+        RandomSource randomSource = RandomSource.getDefault();
+        for (String arg : args) {
+            if (arg.startsWith("--target="))
+                target = Double.parseDouble(arg.substring("--target=".length()));
+            else if (arg.startsWith("--seed="))
+                randomSource = new RandomSource(Long.parseLong(arg.substring("--seed=".length())));
+            else
+                rounds = Long.parseLong(arg);
+        }
+
+        DifficultyCalibrator calibrator = new DifficultyCalibrator(ForkJoinPool.commonPool(), randomSource);
+        System.out.printf("Simulating %,d rounds per difficulty on %d threads, seed %d%n",
+                rounds, ForkJoinPool.commonPool().getParallelism(), randomSource.getSeed());
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.isAdaptive())
+                continue;
+            long start = System.nanoTime();
+            Distribution result = calibrator.simulate(difficulty.getChanceToWin(), rounds);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            report(difficulty.getLabel(), result);
+            System.out.printf("%-20s %,.0f rounds/sec%n", "", rounds / seconds);
+        }
+
+        if (target != null) {
+            Distribution result = calibrator.solve(target);
+            report("Target " + target, result);
+        }
+    }
+}
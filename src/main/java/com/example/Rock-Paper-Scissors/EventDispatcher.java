@@ -0,0 +1,289 @@
+package com.example.project_2_lansing;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands the events of games to any number of consumers without letting a slow one hold up the game.
+ * Every subscription has a ring buffer of its own with preallocated events. Publishing copies the event
+ * into each ring and returns; the consumer takes what has piled up in one batch, either on a thread of its
+ * own or whenever its owner polls, as the window does once per pulse.
+ *
+ * When a ring is full the subscription's back-pressure policy decides: BLOCK makes the publisher wait
+ * for room, so the consumer sees every event, DROP skips the event for that consumer and counts it, and
+ * OVERFLOW puts a copy of the event in an unbounded queue behind the ring and counts it, so the consumer
+ * sees every event in order without ever holding up the publisher. Only overflowed events allocate.
+ * Any number of threads may publish.
+ */
+public class EventDispatcher implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    public enum BackPressure { BLOCK, DROP, OVERFLOW }
+
+    @FunctionalInterface
+    public interface EventHandler {
+        /*
+         * Take one event. endOfBatch is true for the last event that was waiting, the time to flush
+         * or redraw. The event is reused once this returns.
+         */
+        void onEvent(GameEvent event, boolean endOfBatch);
+    }
+
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    /*
+     * Add a consumer whose events wait until poll is called on the returned subscription.
+     * Polled subscriptions should DROP when the publisher is the thread that polls them.
+     */
+    public synchronized Subscription subscribe(String name, int capacity, BackPressure backPressure, EventHandler handler) {
+        Subscription subscription = new Subscription(name, capacity, backPressure, handler);
+        subscriptions = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        subscriptions[subscriptions.length - 1] = subscription;
+        return subscription;
+    }
+
+    /*
+     * Add a consumer that takes its events on a daemon thread of its own.
+     */
+    public Subscription subscribeThread(String name, int capacity, BackPressure backPressure, EventHandler handler) {
+        Subscription subscription = subscribe(name, capacity, backPressure, handler);
+        subscription.start();
+        return subscription;
+    }
+
+    /*
+     * Remove a consumer. A consumer with a thread takes what is left in its ring first.
+     */
+    public void unsubscribe(Subscription subscription) {
+        synchronized (this) {
+            Subscription[] remaining = Arrays.stream(subscriptions).filter(s -> s != subscription).toArray(Subscription[]::new);
+            subscriptions = remaining;
+        }
+        subscription.stop();
+    }
+
+    /*
+     * Copy an event into every consumer's ring.
+     */
+    public void publish(GameEvent event) {
+        for (Subscription subscription : subscriptions)
+            subscription.offer(event);
+    }
+
+    /*
+     * Stop every consumer after it has taken what is left in its ring.
+     */
+    @Override
+    public void close() {
+        Subscription[] all;
+        synchronized (this) {
+            all = subscriptions;
+            subscriptions = new Subscription[0];
+        }
+        for (Subscription subscription : all)
+            subscription.stop();
+    }
+
+    /**
+     * One consumer's ring buffer. Publishers claim sequence numbers and mark a slot published by writing
+     * its sequence last; the consumer reads slots in order until it finds one that is not published yet.
+     * Once an OVERFLOW subscription has spilled an event, later events follow it into the overflow queue
+     * until the consumer has emptied it, so they keep their order.
+     */
+    public static final class Subscription {
+
+        private final String name;
+        private final GameEvent[] ring;
+        private final int mask;
+        private final BackPressure backPressure;
+        private final EventHandler handler;
+
+        private final AtomicLong claimed = new AtomicLong();
+        // The next sequence the consumer will read, everything before it may be overwritten
+        private volatile long consumed = 0;
+        private final LongAdder dropped = new LongAdder();
+        // Events that found the ring full, taken after the ring
+        private final ConcurrentLinkedQueue<GameEvent> overflow = new ConcurrentLinkedQueue<>();
+        private final LongAdder overflowed = new LongAdder();
+
+        private Thread thread;
+        private volatile boolean running;
+        private volatile boolean waiting;
+
+        Subscription(String name, int capacity, BackPressure backPressure, EventHandler handler) {
+            if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+                throw new IllegalArgumentException("The capacity of a ring must be a power of two.");
+            this.name = name;
+            this.ring = new GameEvent[capacity];
+            for (int i = 0; i < capacity; i++)
+                ring[i] = new GameEvent();
+            this.mask = capacity - 1;
+            this.backPressure = backPressure;
+            this.handler = handler;
+        }
+
+        /*
+         * Put a copy of the event in the ring, waiting for room, dropping it or spilling it when the ring is full.
+         */
+        void offer(GameEvent event) {
+            if (backPressure == BackPressure.OVERFLOW && !overflow.isEmpty()) {
+                spill(event);
+                return;
+            }
+            long sequence;
+            int idle = 0;
+            while (true) {
+                sequence = claimed.get();
+                if (sequence - ring.length >= consumed) {
+                    if (backPressure == BackPressure.DROP || !running && thread != null) {
+                        dropped.increment();
+                        return;
+                    }
+                    if (backPressure == BackPressure.OVERFLOW) {
+                        spill(event);
+                        return;
+                    }
+                    wake();
+                    idle = backOff(idle);
+                }
+                else if (claimed.compareAndSet(sequence, sequence + 1))
+                    break;
+            }
+            GameEvent slot = ring[(int) sequence & mask];
+            slot.copyFrom(event);
+            slot.sequence = sequence;
+            if (waiting)
+                wake();
+        }
+
+        /*
+         * Put a copy of an event that found no room in the overflow queue.
+         */
+        private void spill(GameEvent event) {
+            GameEvent copy = new GameEvent();
+            copy.copyFrom(event);
+            overflow.add(copy);
+            overflowed.increment();
+            if (waiting)
+                wake();
+        }
+
+        /*
+         * Hand every published event to the handler in one batch, then the overflowed ones, and return
+         * how many there were.
+         */
+        public int poll() {
+            long next = consumed;
+            long end = next;
+            while (end - next < ring.length && ring[(int) end & mask].sequence == end)
+                end++;
+            for (long sequence = next; sequence < end; sequence++)
+                handle(ring[(int) sequence & mask], sequence == end - 1);
+            consumed = end;
+            int taken = (int) (end - next);
+
+            GameEvent event = overflow.poll();
+            while (event != null) {
+                GameEvent following = overflow.poll();
+                handle(event, following == null);
+                taken++;
+                event = following;
+            }
+            return taken;
+        }
+
+        private void handle(GameEvent event, boolean endOfBatch) {
+            try {
+                handler.onEvent(event, endOfBatch);
+            }
+            catch (RuntimeException ex) {
+                System.err.println("Event consumer " + name + " failed: " + ex);
+            }
+        }
+
+        /*
+         * Take events as they come on a daemon thread, sleeping while the ring is empty.
+         */
+        void start() {
+            running = true;
+            thread = new Thread(() -> {
+                while (running) {
+                    if (poll() == 0) {
+                        waiting = true;
+                        if (ring[(int) consumed & mask].sequence != consumed && overflow.isEmpty() && running)
+                            LockSupport.parkNanos(this, 1_000_000);
+                        waiting = false;
+                    }
+                }
+                while (poll() > 0)
+                    ;
+            }, "events-" + name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() {
+            if (thread == null)
+                return;
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void wake() {
+            if (thread != null)
+                LockSupport.unpark(thread);
+        }
+
+        /*
+         * Spin, then yield, then sleep a little longer each time while waiting for room.
+         */
+        private static int backOff(int idle) {
+            if (idle < 100)
+                Thread.onSpinWait();
+            else if (idle < 200)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(Math.min(1_000_000, 1_000L << Math.min(idle - 200, 10)));
+            return idle + 1;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BackPressure getBackPressure() {
+            return backPressure;
+        }
+
+        /*
+         * Return how many events were skipped because the ring was full.
+         */
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        /*
+         * Return how many events went to the overflow queue because the ring was full.
+         */
+        public long getOverflowed() {
+            return overflowed.sum();
+        }
+
+        /*
+         * Return how many events are waiting for the consumer.
+         */
+        public long getBacklog() {
+            return claimed.get() - consumed + overflow.size();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.project_2_lansing;
+
+/**
+ * Something that happened in a game, as published by RoundEngine to an EventDispatcher. Events are
+ * slots of the dispatcher's ring buffers that are filled in place and reused, so publishing never
+ * allocates. A consumer must copy what it wants to keep before it returns from onEvent.
+ *
+ * Which fields are set depends on the type:
+ * ROUND_PLAYED    round, playerChoice, computerChoice, outcome, difficulty, and nanos when metrics are on
+ * GAME_OVER       wins, losses, ties, longest win and loss streaks (0 without analytics), difficulty
+ * STREAK_REACHED  move, length
+ * RESET           nothing but the session
+ * Every event carries its session id and a timestamp in epoch millis.
+ */
+public final class GameEvent {
+
+    public enum Type { ROUND_PLAYED, GAME_OVER, STREAK_REACHED, RESET }
+
+    Type type;
+    long sessionId;
+    long timestamp;
+    int round;
+    int playerChoice;
+    int computerChoice;
+    byte outcome;
+    Difficulty difficulty;
+    long nanos;
+    int wins;
+    int losses;
+    int ties;
+    int longestWinStreak;
+    int longestLossStreak;
+    int move;
+    int length;
+    // The position in its ring of the last event published into this slot, -1 until the first. A slot being
+    // filled keeps the previous lap's value, so a consumer takes the slot only once it equals its own position
+    volatile long sequence = -1;
+
+    void roundPlayed(long sessionId, int round, int playerChoice, int computerChoice, byte outcome, Difficulty difficulty, long nanos) {
+        start(Type.ROUND_PLAYED, sessionId);
+        this.round = round;
+        this.playerChoice = playerChoice;
+        this.computerChoice = computerChoice;
+        this.outcome = outcome;
+        this.difficulty = difficulty;
+        this.nanos = nanos;
+    }
+
+    void gameOver(long sessionId, int wins, int losses, int ties, int longestWinStreak, int longestLossStreak, Difficulty difficulty) {
+        start(Type.GAME_OVER, sessionId);
+        this.wins = wins;
+        this.losses = losses;
+        this.ties = ties;
+        this.longestWinStreak = longestWinStreak;
+        this.longestLossStreak = longestLossStreak;
+        this.difficulty = difficulty;
+    }
+
+    void streakReached(long sessionId, int move, int length) {
+        start(Type.STREAK_REACHED, sessionId);
+        this.move = move;
+        this.length = length;
+    }
+
+    void reset(long sessionId) {
+        start(Type.RESET, sessionId);
+    }
+
+    private void start(Type type, long sessionId) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /*
+     * Copy every field but the sequence from another event.
+     */
+    void copyFrom(GameEvent other) {
+        type = other.type;
+        sessionId = other.sessionId;
+        timestamp = other.timestamp;
+        round = other.round;
+        playerChoice = other.playerChoice;
+        computerChoice = other.computerChoice;
+        outcome = other.outcome;
+        difficulty = other.difficulty;
+        nanos = other.nanos;
+        wins = other.wins;
+        losses = other.losses;
+        ties = other.ties;
+        longestWinStreak = other.longestWinStreak;
+        longestLossStreak = other.longestLossStreak;
+        move = other.move;
+        length = other.length;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getPlayerChoice() {
+        return playerChoice;
+    }
+
+    public int getComputerChoice() {
+        return computerChoice;
+    }
+
+    public byte getOutcome() {
+        return outcome;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getTies() {
+        return ties;
+    }
+
+    public int getLongestWinStreak() {
+        return longestWinStreak;
+    }
+
+    public int getLongestLossStreak() {
+        return longestLossStreak;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.project_2_lansing;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide runtime metrics: round latency, rounds per second, active sessions, outcome rates per
+ * difficulty, FX pulse lag and image load time. Read them over JMX (GameMetricsMXBean), from the
+ * Prometheus text endpoint of MetricsServer, or as RoundEvents in a flight recording.
+ * Metrics are off until switched on. While off, callers only pay for reading one volatile flag.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+
+    public static final String OBJECT_NAME = "com.example.project_2_lansing:type=GameMetrics";
+    // The pulse is expected 60 times a second, anything later than that counts as lag
+    static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+    private static volatile boolean enabled = false;
+
+    private final LatencyHistogram roundLatency = new LatencyHistogram();
+    private final LatencyHistogram pulseLag = new LatencyHistogram();
+    private final LatencyHistogram imageLoad = new LatencyHistogram();
+    private final LongAdder[][] outcomes = new LongAdder[Difficulty.values().length][3];
+    private final LongAdder activeSessions = new LongAdder();
+
+    // Rounds and time of the previous rate reading
+    private long rateRounds = 0;
+    private long rateNanos = System.nanoTime();
+
+    private GameMetrics() {
+        for (LongAdder[] row : outcomes) {
+            for (int i = 0; i < row.length; i++)
+                row[i] = new LongAdder();
+        }
+    }
+
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /*
+     * Return true while metrics are being recorded. Check it before timing anything.
+     */
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        GameMetrics.enabled = enabled;
+    }
+
+    /*
+     * Make the metrics visible over JMX. Registering twice does nothing.
+     */
+    public synchronized void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        }
+        catch (JMException ex) {
+            System.err.println("Metrics are not available over JMX: " + ex.getMessage());
+        }
+    }
+
+    /*
+     * Count one round that took the given time to play, and commit it to the flight recorder.
+     */
+    public void roundPlayed(long sessionId, int round, Difficulty difficulty, int playerChoice, int computerChoice, byte outcome, long nanos) {
+        outcomes[difficulty.ordinal()][outcome].increment();
+        roundTimed(sessionId, round, difficulty, playerChoice, computerChoice, outcome, nanos);
+    }
+
+    /*
+     * Add a batch of rounds to the outcome rates, counted by difficulty and outcome. Their times are
+     * recorded one round at a time with roundTimed.
+     */
+    public void outcomesPlayed(long[][] counts) {
+        for (int difficulty = 0; difficulty < counts.length; difficulty++) {
+            for (int outcome = 0; outcome < counts[difficulty].length; outcome++) {
+                if (counts[difficulty][outcome] != 0)
+                    outcomes[difficulty][outcome].add(counts[difficulty][outcome]);
+            }
+        }
+    }
+
+    /*
+     * Record the time one round took to play, and commit it to the flight recorder, without counting
+     * its outcome.
+     */
+    public void roundTimed(long sessionId, int round, Difficulty difficulty, int playerChoice, int computerChoice, byte outcome, long nanos) {
+        roundLatency.record(nanos);
+
+        RoundEvent event = new RoundEvent();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.round = round;
+            event.difficulty = difficulty.name();
+            event.playerChoice = playerChoice;
+            event.computerChoice = computerChoice;
+            event.outcome = outcome;
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    public void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    public void sessionEnded() {
+        activeSessions.decrement();
+    }
+
+    /*
+     * Count the time between two FX pulses.
+     */
+    public void pulse(long intervalNanos) {
+        pulseLag.record(intervalNanos - FRAME_NANOS);
+    }
+
+    public void imageLoaded(long nanos) {
+        imageLoad.record(nanos);
+    }
+
+    @Override
+    public long getRounds() {
+        return roundLatency.count();
+    }
+
+    /*
+     * Return the rounds per second since the previous time anyone asked.
+     */
+    @Override
+    public synchronized double getRoundsPerSecond() {
+        long rounds = getRounds();
+        long now = System.nanoTime();
+        double rate = (rounds - rateRounds) / ((now - rateNanos) / 1e9);
+        rateRounds = rounds;
+        rateNanos = now;
+        return rate;
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return activeSessions.sum();
+    }
+
+    @Override
+    public long getRoundLatencyMedian() {
+        return roundLatency.percentile(50);
+    }
+
+    @Override
+    public long getRoundLatency99thPercentile() {
+        return roundLatency.percentile(99);
+    }
+
+    @Override
+    public long getRoundLatencyMax() {
+        return roundLatency.max();
+    }
+
+    @Override
+    public long getPulseLag99thPercentile() {
+        return pulseLag.percentile(99);
+    }
+
+    @Override
+    public long getPulseLagMax() {
+        return pulseLag.max();
+    }
+
+    @Override
+    public long getImageLoadMedian() {
+        return imageLoad.percentile(50);
+    }
+
+    @Override
+    public long getImageLoadMax() {
+        return imageLoad.max();
+    }
+
+    @Override
+    public Map<String, Double> getWinRates() {
+        return rates(RoundEngine.WIN);
+    }
+
+    @Override
+    public Map<String, Double> getLossRates() {
+        return rates(RoundEngine.LOSS);
+    }
+
+    private Map<String, Double> rates(byte outcome) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (Difficulty difficulty : Difficulty.values()) {
+            LongAdder[] row = outcomes[difficulty.ordinal()];
+            long rounds = row[0].sum() + row[1].sum() + row[2].sum();
+            rates.put(difficulty.name(), rounds == 0 ? 0 : (double) row[outcome].sum() / rounds);
+        }
+        return rates;
+    }
+
+    @Override
+    public void reset() {
+        roundLatency.reset();
+        pulseLag.reset();
+        imageLoad.reset();
+        for (LongAdder[] row : outcomes) {
+            for (LongAdder counter : row)
+                counter.reset();
+        }
+    }
+
+    /*
+     * Return every metric in the Prometheus text exposition format. Durations are in seconds.
+     */
+    public String prometheus() {
+        StringBuilder text = new StringBuilder(4096);
+        gauge(text, "rps_metrics_enabled", "1 while metrics are being recorded", enabled ? 1 : 0);
+        gauge(text, "rps_active_sessions", "Games being played", getActiveSessions());
+        summary(text, "rps_round_latency_seconds", "Time to play one round", roundLatency);
+        summary(text, "rps_pulse_lag_seconds", "How much later than 1/60 s the FX pulse came", pulseLag);
+        summary(text, "rps_image_load_seconds", "Time to decode one image", imageLoad);
+
+        text.append("# HELP rps_rounds_total Rounds played by difficulty and outcome\n");
+        text.append("# TYPE rps_rounds_total counter\n");
+        String[] names = { "tie", "win", "loss" };
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int outcome = 0; outcome < 3; outcome++) {
+                text.append("rps_rounds_total{difficulty=\"").append(difficulty.name())
+                        .append("\",outcome=\"").append(names[outcome]).append("\"} ")
+                        .append(outcomes[difficulty.ordinal()][outcome].sum()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static void gauge(StringBuilder text, String name, String help, long value) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" gauge\n");
+        text.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder text, String name, String help, LatencyHistogram histogram) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" summary\n");
+        for (double quantile : new double[] { 0.5, 0.9, 0.99, 0.999 }) {
+            text.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(histogram.percentile(quantile * 100))).append('\n');
+        }
+        text.append(name).append("_sum ").append(seconds(histogram.sum())).append('\n');
+        text.append(name).append("_count ").append(histogram.count()).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
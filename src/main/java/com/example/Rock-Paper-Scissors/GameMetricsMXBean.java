@@ -0,0 +1,40 @@
+package com.example.project_2_lansing;
+
+import java.util.Map;
+
+/**
+ * What GameMetrics shows over JMX, under com.example.project_2_lansing:type=GameMetrics.
+ * Durations are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getRounds();
+
+    double getRoundsPerSecond();
+
+    long getActiveSessions();
+
+    long getRoundLatencyMedian();
+
+    long getRoundLatency99thPercentile();
+
+    long getRoundLatencyMax();
+
+    long getPulseLag99thPercentile();
+
+    long getPulseLagMax();
+
+    long getImageLoadMedian();
+
+    long getImageLoadMax();
+
+    Map<String, Double> getWinRates();
+
+    Map<String, Double> getLossRates();
+
+    void reset();
+}
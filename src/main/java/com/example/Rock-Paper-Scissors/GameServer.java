@@ -0,0 +1,340 @@
+package com.example.project_2_lansing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless server mode. Hosts any number of games in a SessionRegistry and takes plays over a
+ * line-based TCP protocol on the loopback interface, one thread per connection. On Java 21 and
+ * later those threads are virtual threads, on older runtimes it falls back to a cached pool.
+ * Start it with: java -cp target/classes com.example.project_2_lansing.GameServer [--port=5050] [--seed=n] [--log=file] [--record=file] [--metrics-port=9100]
+ * or launch the application with --server.
+ * With --compact=capacity the games are packed into a SessionTable of that many games instead, for hosting
+ * millions of them. Compact games are not logged or recorded and have no streaks.
+ * With --binary-port=port the same games can also be played over BinaryGameServer's pipelined binary protocol.
+ * Games are put on the clock of a SessionScheduler: a game nobody played for --idle-timeout=ms (10 minutes) or
+ * that has been over for --finish-after=ms (1 minute) is evicted, and with --move-timeout=ms a player who takes
+ * longer than that to move has a move picked for them. Evicted games are added to the profiles in --profiles=file,
+ * games without a name and compact games to its anonymous profile. Without --compact at most --max-games=n
+ * (65536) games are hosted at once.
+ *
+ * Commands, one per line, every reply is one line:
+ * NEW difficulty rounds name   ->  OK sessionId
+ * PLAY sessionId R|P|S         ->  computerMove WIN|LOSS|TIE wins losses ties round, or OVER
+ * SCORE sessionId              ->  wins losses ties round
+ * STREAKS sessionId            ->  winStreak lossStreak longestWinStreak longestLossStreak recentWinRate
+ * END sessionId                ->  OK
+ * STATS                        ->  wins losses ties of every game in the process
+ * QUIT                         ->  closes the connection
+ * Anything that goes wrong is answered with ERR and a message.
+ */
+public class GameServer {
+
+    public static final int DEFAULT_PORT = 5050;
+    static final String[] MOVES = { "R", "P", "S" };
+    static final String[] OUTCOMES = { "TIE", "WIN", "LOSS" };
+
+    // Games are hosted in the registry, or in the table when they are compact
+    private final SessionRegistry registry;
+    private final SessionTable table;
+    private final int port;
+    private ServerSocket serverSocket;
+    // Expires and evicts the games when there is one
+    private SessionScheduler scheduler;
+
+    public GameServer(SessionRegistry registry, int port) {
+        this.registry = registry;
+        this.table = null;
+        this.port = port;
+    }
+
+    public GameServer(SessionTable table, int port) {
+        this.registry = null;
+        this.table = table;
+        this.port = port;
+    }
+
+    /*
+     * Put the games on the clock of a scheduler for the same registry or table.
+     */
+    public void setScheduler(SessionScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /*
+     * Make an executor that gives every task its own virtual thread when the runtime has them.
+     */
+    static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "game-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /*
+     * Accept connections until the server is closed.
+     */
+    public void serve() throws IOException {
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        ExecutorService connections = newConnectionExecutor();
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                }
+                catch (IOException ex) {
+                    if (serverSocket.isClosed())
+                        break;
+                    throw ex;
+                }
+                connections.execute(() -> handle(socket));
+            }
+        }
+        finally {
+            connections.shutdown();
+        }
+    }
+
+    public void close() throws IOException {
+        if (serverSocket != null)
+            serverSocket.close();
+    }
+
+    /*
+     * Answer the commands of one connection until it quits or drops.
+     */
+    void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT"))
+                    break;
+                out.println(execute(line));
+            }
+        }
+        catch (IOException ex) {
+            // the client went away, its sessions stay in the registry until ended
+        }
+    }
+
+    /*
+     * Run one command and return the reply.
+     */
+    public String execute(String line) {
+        String[] parts = line.trim().split("\\s+", 4);
+        try {
+            switch (parts[0].toUpperCase(Locale.ROOT)) {
+                case "NEW" -> {
+                    Difficulty difficulty = Difficulty.valueOf(parts[1].toUpperCase(Locale.ROOT));
+                    int rounds = Integer.parseInt(parts[2]);
+                    if (rounds <= 0)
+                        return "ERR Please enter a positive integer.";
+                    String name = parts.length > 3 ? parts[3] : "";
+                    long id = table != null ? table.create(difficulty, rounds) : registry.create(name, difficulty, rounds).getId();
+                    if (scheduler != null)
+                        scheduler.created(id);
+                    return "OK " + id;
+                }
+                case "PLAY" -> {
+                    if (table != null) {
+                        long id = Long.parseLong(parts[1]);
+                        int playerChoice = parseMove(parts[2]);
+                        int computerChoice = table.play(id, playerChoice);
+                        if (computerChoice < 0)
+                            return "OVER";
+                        if (scheduler != null)
+                            scheduler.played(id);
+                        return MOVES[computerChoice] + " " + OUTCOMES[RoundEngine.outcome(playerChoice, computerChoice)] + " " + table.score(id);
+                    }
+                    GameSession session = find(parts[1]);
+                    if (session == null)
+                        return "ERR No such session.";
+                    int playerChoice = parseMove(parts[2]);
+                    int computerChoice = session.play(playerChoice);
+                    if (computerChoice < 0)
+                        return "OVER";
+                    if (scheduler != null)
+                        scheduler.played(session.getId());
+                    return MOVES[computerChoice] + " " + OUTCOMES[RoundEngine.outcome(playerChoice, computerChoice)] + " " + session.score();
+                }
+                case "SCORE" -> {
+                    if (table != null)
+                        return table.score(Long.parseLong(parts[1]));
+                    GameSession session = find(parts[1]);
+                    return session == null ? "ERR No such session." : session.score();
+                }
+                case "STREAKS" -> {
+                    if (table != null)
+                        return "ERR Compact games keep no streaks.";
+                    GameSession session = find(parts[1]);
+                    if (session == null)
+                        return "ERR No such session.";
+                    SessionAnalytics analytics = session.getAnalytics();
+                    return analytics.getWinStreak() + " " + analytics.getLossStreak() + " " + analytics.getLongestWinStreak() + " "
+                            + analytics.getLongestLossStreak() + " " + String.format(Locale.ROOT, "%.3f", analytics.getWindowWinRate());
+                }
+                case "STATS" -> {
+                    GameStats.Snapshot snapshot = GameStats.global().snapshot();
+                    return snapshot.wins() + " " + snapshot.losses() + " " + snapshot.ties();
+                }
+                case "END" -> {
+                    if (scheduler != null)
+                        return scheduler.evict(Long.parseLong(parts[1])) ? "OK" : "ERR No such session.";
+                    if (table != null)
+                        return table.remove(Long.parseLong(parts[1])) ? "OK" : "ERR No such session.";
+                    return registry.remove(Long.parseLong(parts[1])) == null ? "ERR No such session." : "OK";
+                }
+                default -> {
+                    return "ERR Unknown command.";
+                }
+            }
+        }
+        catch (ArrayIndexOutOfBoundsException ex) {
+            return "ERR Missing arguments.";
+        }
+        catch (IllegalArgumentException | IllegalStateException | UncheckedIOException ex) {
+            return "ERR " + ex.getMessage();
+        }
+    }
+
+    private GameSession find(String id) {
+        return registry.get(Long.parseLong(id));
+    }
+
+    /*
+     * Return the move code for R, P or S (or 0, 1, 2).
+     */
+    static int parseMove(String move) {
+        switch (move.toUpperCase(Locale.ROOT)) {
+            case "R", "ROCK", "0" -> {
+                return RoundEngine.ROCK;
+            }
+            case "P", "PAPER", "1" -> {
+                return RoundEngine.PAPER;
+            }
+            case "S", "SCISSORS", "2" -> {
+                return RoundEngine.SCISSORS;
+            }
+            default -> throw new IllegalArgumentException("Moves are R, P or S.");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        RandomSource randomSource = RandomSource.getDefault();
+        MatchLog matchLog = null;
+        SessionRecorder recorder = null;
+        int metricsPort = -1;
+        int compactCapacity = 0;
+        int binaryPort = -1;
+        long moveTimeout = 0;
+        long idleTimeout = SessionScheduler.DEFAULT_IDLE_MILLIS;
+        long finishAfter = SessionScheduler.DEFAULT_FINISH_MILLIS;
+        ProfileStore profiles = null;
+        int maxGames = SessionScheduler.DEFAULT_MAX_GAMES;
+        for (String arg : args) {
+            if (arg.startsWith("--port="))
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            else if (arg.startsWith("--seed="))
+                randomSource = new RandomSource(Long.parseLong(arg.substring("--seed=".length())));
+            else if (arg.startsWith("--log="))
+                matchLog = new MatchLog(Path.of(arg.substring("--log=".length())));
+            else if (arg.startsWith("--record="))
+                recorder = new SessionRecorder(Path.of(arg.substring("--record=".length())));
+            else if (arg.startsWith("--metrics-port="))
+                metricsPort = Integer.parseInt(arg.substring("--metrics-port=".length()));
+            else if (arg.startsWith("--compact="))
+                compactCapacity = Integer.parseInt(arg.substring("--compact=".length()));
+            else if (arg.startsWith("--binary-port="))
+                binaryPort = Integer.parseInt(arg.substring("--binary-port=".length()));
+            else if (arg.startsWith("--move-timeout="))
+                moveTimeout = Long.parseLong(arg.substring("--move-timeout=".length()));
+            else if (arg.startsWith("--idle-timeout="))
+                idleTimeout = Long.parseLong(arg.substring("--idle-timeout=".length()));
+            else if (arg.startsWith("--finish-after="))
+                finishAfter = Long.parseLong(arg.substring("--finish-after=".length()));
+            else if (arg.startsWith("--profiles="))
+                profiles = new ProfileStore(Path.of(arg.substring("--profiles=".length())));
+            else if (arg.startsWith("--max-games="))
+                maxGames = Integer.parseInt(arg.substring("--max-games=".length()));
+        }
+
+        // Metrics can always be switched on over JMX, --metrics-port also serves them to Prometheus
+        GameMetrics.get().register();
+        if (metricsPort >= 0)
+            System.out.println("Serving metrics on http://localhost:" + new MetricsServer(metricsPort).getPort() + "/metrics");
+
+        SessionTable table = compactCapacity > 0 ? new SessionTable(compactCapacity, randomSource) : null;
+        SessionRegistry registry = table == null ? new SessionRegistry(randomSource, matchLog, recorder) : null;
+        if (registry != null && (matchLog != null || recorder != null)) {
+            // the saves take the rounds that are left, then the last batch reaches the disk when the server is stopped
+            MatchLog log = matchLog;
+            SessionRecorder sessions = recorder;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                registry.close();
+                try {
+                    if (log != null)
+                        log.close();
+                }
+                catch (IOException ex) {
+                    System.err.println("The match log could not be closed: " + ex.getMessage());
+                }
+                try {
+                    if (sessions != null)
+                        sessions.close();
+                }
+                catch (IOException ex) {
+                    System.err.println("The session recording could not be closed: " + ex.getMessage());
+                }
+            }));
+        }
+        SessionScheduler scheduler = table != null
+                ? new SessionScheduler(table, profiles, moveTimeout, idleTimeout, finishAfter)
+                : new SessionScheduler(registry, profiles, maxGames, moveTimeout, idleTimeout, finishAfter);
+        scheduler.start();
+
+        if (profiles != null) {
+            // evicted games are written through, this adds up the last anonymous games and makes sure
+            // everything is on the disk when the server is stopped
+            ProfileStore store = profiles;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                scheduler.close();
+                try {
+                    store.close();
+                }
+                catch (IOException ex) {
+                    System.err.println("The profiles could not be closed: " + ex.getMessage());
+                }
+            }));
+        }
+        if (binaryPort >= 0) {
+            BinaryGameServer binary = table != null ? new BinaryGameServer(table, binaryPort) : new BinaryGameServer(registry, binaryPort);
+            binary.setScheduler(scheduler);
+            System.out.println("Serving the binary protocol on port " + binary.start());
+        }
+        GameServer server = table != null ? new GameServer(table, port) : new GameServer(registry, port);
+        server.setScheduler(scheduler);
+        System.out.println("Serving rock, paper, scissors on port " + port);
+        server.serve();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.project_2_lansing;
+
+/**
+ * One hosted game: the player's name, the difficulty and the engine keeping the score.
+ * Plays on the same session are serialized on the session itself, so sessions never wait on each other.
+ * A session never touches the disk: when its rounds are logged or recorded, the engine publishes them to
+ * an EventDispatcher and a consumer of the SessionRegistry writes them on a thread of its own.
+ */
+public class GameSession {
+
+    private final long id;
+    private final String name;
+    private final Difficulty difficulty;
+    private final long seed;
+    private final RoundEngine engine;
+    // The IDLE or FINISH and the MOVE_TIMEOUT timers of the SessionScheduler, guarded by the session
+    long lifeTimer;
+    long moveTimer;
+
+    public GameSession(long id, String name, Difficulty difficulty, int roundsToPlay, RandomSource randomSource) {
+        this(id, name, difficulty, roundsToPlay, randomSource, null);
+    }
+
+    /*
+     * Make a game that publishes its rounds and its end to events, when events is not null.
+     */
+    public GameSession(long id, String name, Difficulty difficulty, int roundsToPlay, RandomSource randomSource, EventDispatcher events) {
+        this.id = id;
+        this.name = name;
+        this.difficulty = difficulty;
+        this.seed = randomSource.nextSeed();
+        this.engine = new RoundEngine(randomSource.newGenerator(seed));
+        engine.setDifficulty(difficulty);
+        engine.setRoundsToPlay(roundsToPlay);
+        engine.setStats(new GameStats());
+        engine.setAnalytics(new SessionAnalytics());
+        engine.setSessionId(id);
+        engine.setEvents(events);
+    }
+
+    /*
+     * Play one round and return the computer's choice, or -1 when the game is already over.
+     */
+    public synchronized int play(int playerChoice) {
+        if (engine.isGameOver())
+            return -1;
+        long start = GameMetrics.enabled() ? System.nanoTime() : 0;
+        int computerChoice = engine.playRound(playerChoice);
+        if (start != 0)
+            GameMetrics.get().roundPlayed(id, engine.getCurrentRound() - 1, difficulty, playerChoice, computerChoice,
+                    RoundEngine.outcome(playerChoice, computerChoice), System.nanoTime() - start);
+        return computerChoice;
+    }
+
+    /*
+     * Return the score as "wins losses ties round".
+     */
+    public synchronized String score() {
+        return engine.getWins() + " " + engine.getLosses() + " " + engine.getTies() + " " + engine.getCurrentRound();
+    }
+
+    public synchronized boolean isGameOver() {
+        return engine.isGameOver();
+    }
+
+    /*
+     * Return the live statistics of this game, safe to read from any thread.
+     */
+    public GameStats getStats() {
+        return engine.getStats();
+    }
+
+    /*
+     * Return the streaks and rolling win rate of this game, readable from any thread while it is played.
+     */
+    public SessionAnalytics getAnalytics() {
+        return engine.getAnalytics();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /*
+     * Return the seed of the game's generator, which a recording needs to replay it.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+}
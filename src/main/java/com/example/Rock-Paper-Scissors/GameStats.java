@@ -0,0 +1,98 @@
+package com.example.project_2_lansing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live statistics for one game that also roll up into the statistics of every game in the process.
+ * The counters are striped LongAdders, so any thread can read a snapshot while rounds are being
+ * recorded and neither side ever waits for the other.
+ */
+public class GameStats {
+
+    private static final GameStats GLOBAL = new GameStats(null);
+
+    private final GameStats parent;
+    private final LongAdder[] outcomes = newAdders();
+    private final LongAdder[] playerMoves = newAdders();
+    private final LongAdder[] computerMoves = newAdders();
+
+    /*
+     * Make the statistics of a new game, counted into the process-wide statistics as well.
+     */
+    public GameStats() {
+        this(GLOBAL);
+    }
+
+    private GameStats(GameStats parent) {
+        this.parent = parent;
+    }
+
+    /*
+     * Return the statistics of every game played in this process.
+     */
+    public static GameStats global() {
+        return GLOBAL;
+    }
+
+    private static LongAdder[] newAdders() {
+        return new LongAdder[] { new LongAdder(), new LongAdder(), new LongAdder() };
+    }
+
+    /*
+     * Count one round.
+     */
+    public void record(int playerChoice, int computerChoice, byte outcome) {
+        outcomes[outcome].increment();
+        playerMoves[playerChoice].increment();
+        computerMoves[computerChoice].increment();
+        if (parent != null)
+            parent.record(playerChoice, computerChoice, outcome);
+    }
+
+    /*
+     * Count a batch of rounds at once. Each array holds the counts indexed by outcome or move.
+     */
+    public void recordAll(int[] outcomeCounts, int[] playerMoveCounts, int[] computerMoveCounts) {
+        for (int i = 0; i < 3; i++) {
+            outcomes[i].add(outcomeCounts[i]);
+            playerMoves[i].add(playerMoveCounts[i]);
+            computerMoves[i].add(computerMoveCounts[i]);
+        }
+        if (parent != null)
+            parent.recordAll(outcomeCounts, playerMoveCounts, computerMoveCounts);
+    }
+
+    /*
+     * Start this game's statistics over. The process-wide statistics keep what was counted.
+     */
+    public void reset() {
+        for (int i = 0; i < 3; i++) {
+            outcomes[i].reset();
+            playerMoves[i].reset();
+            computerMoves[i].reset();
+        }
+    }
+
+    /*
+     * Read the counters without stopping anyone who is recording. Rounds recorded while reading may
+     * or may not be included.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(outcomes[RoundEngine.WIN].sum(), outcomes[RoundEngine.LOSS].sum(), outcomes[RoundEngine.TIE].sum(),
+                sums(playerMoves), sums(computerMoves));
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        return new long[] { adders[0].sum(), adders[1].sum(), adders[2].sum() };
+    }
+
+    /*
+     * Counts at one point in time. The move arrays are indexed by move code.
+     */
+    public record Snapshot(long wins, long losses, long ties, long[] playerMoves, long[] computerMoves) {
+
+        public long rounds() {
+            return wins + losses + ties;
+        }
+    }
+}
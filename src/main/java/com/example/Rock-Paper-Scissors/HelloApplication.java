@@ -1,9 +1,12 @@
 package com.example.project_2_lansing;
 
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.PathTransition;
 import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -27,7 +30,10 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.io.IOException;
-import java.util.Random;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Program that implements a rock paper scissors game.
@@ -42,16 +48,32 @@ import java.util.Random;
  */
 public class HelloApplication extends Application {
 
-    int wins = 0;
-    int losses = 0;
-    int ties = 0;
-    int roundsToPlay = 0;
-    int currentRound = 1;
+    // The engine resolves rounds and keeps the score, the application only displays it.
+    RoundEngine engine = new RoundEngine();
+    // Every game draws from its own generator. Start with --seed=<number> to replay the same games.
+    RandomSource randomSource = RandomSource.getDefault();
     String name;
-    double chanceToWin;
+    Difficulty difficulty = Difficulty.NORMAL;
+    // Every round is appended to the match log, start with --log=<file> to choose where it goes.
+    MatchLog matchLog;
+    long sessionId;
+    // Finished games are added to the player's profile, start with --profiles=<file> to choose where they are kept.
+    ProfileStore profileStore;
+    // Finished games are saved for SessionReplayer, start with --record=<file> to choose where they go.
+    SessionRecorder recorder;
+    // Games in play by session id, until the saves consumer has saved or dropped them
+    Map<Long, PlayedGame> playedGames = new ConcurrentHashMap<>();
+
+    // The engine publishes what happens in the game. The window, the saves to disk and the metrics consume
+    // it, the first once per pulse and the others on threads of their own, so none of them hold up a round.
+    EventDispatcher events = new EventDispatcher();
+    EventDispatcher.Subscription windowEvents;
+    // Rounds wait this many deep in the ring of the saves, more than that overflow into a queue behind it
+    final int SAVE_EVENTS = 1 << 16;
     final int WIDTH = 500;
     final int HEIGHT = 700;
-    int rockOutCount = 0;
+    // Picking rock this many times in a row shows the ROCK OUT pop-up
+    final int ROCK_OUT_STREAK = 5;
 
     final String DEFAULT_FONT = "Helvetica";
     final double TITLE_SIZE = 24.0f;
@@ -63,19 +85,21 @@ public class HelloApplication extends Application {
     * Initialize controls so that there is global access.
      */
 
-    //Load all images
-    Image rockImage = new Image("file:src/main/resources/images/rock.png", (double) WIDTH/5, 0, true, true);
-    Image paperImage = new Image("file:src/main/resources/images/paper.png", (double) WIDTH/5+10, 0, true, true);
-    Image scissorsImage = new Image("file:src/main/resources/images/scissors.png", (double) WIDTH/5, 0, true, true);
-    Image rockImageColor = new Image("file:src/main/resources/images/rock_selected.png", (double) WIDTH/5, 0, true, true);
-    Image paperImageColor = new Image("file:src/main/resources/images/paper_selected.png", (double) WIDTH/5+10, 0, true, true);
-    Image scissorsImageColor = new Image("file:src/main/resources/images/scissors_selected.png", (double) WIDTH/5, 0, true, true);
-    Image rockOutImage = new Image("file:src/main/resources/images/rock_out.png", (double) WIDTH/5, 0, true, true);
-
-    //Palettes for color themes, listed in order of background color, text color, error text color, and title color
-    String[] brightPalette = { "F8DCB0", "FC5E70", "FF0000", "FBBC54" };
-    String[] easterPalette = { "EFF1DB", "D3B5E5", "FF0000", "FFD4DB" };
-    String[] metalPalette = { "ADB3BD", "10151B", "4B5C74", "7C7E7E" };
+    // Images come from the class path and are decoded once per size. init() starts decoding them in the
+    // background, start() only waits for the ones that are not done yet. The ROCK OUT image is decoded when first shown.
+    ImageCache imageCache = new ImageCache();
+    final double IMAGE_WIDTH = (double) WIDTH/5;
+    final double PAPER_WIDTH = (double) WIDTH/5+10;
+    Image rockImage;
+    Image paperImage;
+    Image scissorsImage;
+    Image rockImageColor;
+    Image paperImageColor;
+    Image scissorsImageColor;
+
+    // Color themes are style classes of theme.css, start with --themes=<folder> to add themes from files
+    final String THEME_STYLESHEET = HelloApplication.class.getResource("theme.css").toExternalForm();
+    Theme theme = Theme.BRIGHT;
 
     /*
      * Initialize GUI elements for the main menu. This makes it easier to change these elements later on
@@ -94,11 +118,12 @@ public class HelloApplication extends Application {
     ToggleButton playButton = makeButton("BEGIN!", THEME_SIZE);
 
     // Initialize the RadioButtons for the main menu
-    RadioButton babyEasyButton = makeRadioButton("Can I win, please?", DIFFICULTY_SIZE);
-    RadioButton easyButton = makeRadioButton("Easy", DIFFICULTY_SIZE);
-    RadioButton normalButton = makeRadioButton("Normal", DIFFICULTY_SIZE);
-    RadioButton hardButton = makeRadioButton("Hard", DIFFICULTY_SIZE);
-    RadioButton superHardButton = makeRadioButton("You are not ready", DIFFICULTY_SIZE);
+    RadioButton babyEasyButton = makeRadioButton(Difficulty.CAN_I_WIN.getLabel(), DIFFICULTY_SIZE);
+    RadioButton easyButton = makeRadioButton(Difficulty.EASY.getLabel(), DIFFICULTY_SIZE);
+    RadioButton normalButton = makeRadioButton(Difficulty.NORMAL.getLabel(), DIFFICULTY_SIZE);
+    RadioButton hardButton = makeRadioButton(Difficulty.HARD.getLabel(), DIFFICULTY_SIZE);
+    RadioButton superHardButton = makeRadioButton(Difficulty.NOT_READY.getLabel(), DIFFICULTY_SIZE);
+    RadioButton mindReaderButton = makeRadioButton(Difficulty.MIND_READER.getLabel(), DIFFICULTY_SIZE);
 
     // Initialize the TextFields for the main menu
     TextField nameField = makeTextField("Please enter your name...");
@@ -106,6 +131,7 @@ public class HelloApplication extends Application {
 
     // Initialize the VBox to hold all elements. The background color will be changing later.
     VBox mainMenu = makeVBox();
+    Scene menuScene;
 
     /*
      * Initialize the GUI elements for the game scene. This makes it easier to make changes to these later.
@@ -123,33 +149,172 @@ public class HelloApplication extends Application {
     ToggleButton resetButton = makeButton("RESET", TITLE_SIZE);
     ToggleButton menuButton = makeButton("MAIN MENU", TITLE_SIZE);
     ToggleButton dataButton = makeButton("STATS", TITLE_SIZE);
+    ToggleButton turboButton = makeButton("Turbo", THEME_SIZE);
+
+    // In turbo mode rounds resolve at once and the labels catch up once per pulse, however many rounds were played
+    boolean labelsDirty = false;
+    byte lastOutcome;
+    // A round of the batch the window is taking still has to be shown
+    boolean outcomePending = false;
+    // The outcomes of the batch the metrics thread is taking, counted by difficulty and outcome
+    final long[][] meteredOutcomes = new long[Difficulty.values().length][3];
+    int meteredRounds = 0;
+
+    /*
+     * A game being played: who plays it and its recording, which the saves consumer fills in.
+     */
+    record PlayedGame(String name, SessionRecording recording) {
+    }
+
+    // Moves from clicks, keys and scripts wait in the queue until the game is ready for them, so none are lost.
+    // Once per pulse the queued moves are played, all together in turbo mode or one per animation otherwise.
+    MoveQueue moveQueue = new MoveQueue(4096);
+    int[] moveBatch = new int[512];
+    // The thread feeding a script's moves into the queue, or null when no script is playing
+    Thread scriptFeeder;
+    AnimationTimer inputPump = new AnimationTimer() {
+        long lastPulse = 0;
+
+        @Override
+        public void handle(long now) {
+            if (lastPulse != 0 && GameMetrics.enabled())
+                GameMetrics.get().pulse(now - lastPulse);
+            lastPulse = now;
+            processInput();
+        }
 
-    ImageView rockSelectImage = new ImageView(rockImage);
-    ImageView paperSelectImage = new ImageView(paperImage);
-    ImageView scissorsSelectImage = new ImageView(scissorsImage);
+        @Override
+        public void stop() {
+            super.stop();
+            lastPulse = 0;
+        }
+    };
+
+    ImageView rockSelectImage = new ImageView();
+    ImageView paperSelectImage = new ImageView();
+    ImageView scissorsSelectImage = new ImageView();
 
     AnchorPane animationPane = new AnchorPane();
 
+    // The animation nodes are made once and reused every round, only their images and paths change
+    ImageView playerAnimation = new ImageView();
+    ImageView computerAnimation = new ImageView();
+    Line leftLine = new Line();
+    Line rightLine = new Line();
+    PathTransition ptPlayer = new PathTransition();
+    PathTransition ptComputer = new PathTransition();
+
     // Initialize the VBox to hold all elements to change color easily later.
+    // The game scene is put together when the first game begins.
     VBox gameBox = makeVBox();
+    Scene gameScene;
     
     /*
      * Initialize the GUI elements for the random pop-up
      */
     Label rockOutLabel = makeLabel("ROCK OUT!", TITLE_SIZE);
-    ImageView rockOutImageView = new ImageView(rockOutImage);
+    ImageView rockOutImageView = new ImageView();
     VBox rockOutBox = makeVBox(rockOutImageView, rockOutLabel);
+    // The pop-up's scene, stage and animation are made the first time it shows and reused after that
+    Stage rockStage;
+    Timeline rockAnimation;
+
+    // Reports allocation and frame times per round when started with --probe
+    RenderProbe renderProbe;
 
     /*
-     * Initialize the GUI elements for the pie chart
+     * Initialize the GUI elements for the pie chart. The chart and its stage are made the first time the stats are shown.
      */
     StackPane chartPane = new StackPane();
+    Stage chartStage;
+
+    // The chart keeps these slices for good, only their values change
+    PieChart.Data winData = new PieChart.Data("Wins", 0);
+    PieChart.Data lossData = new PieChart.Data("Losses", 0);
+    PieChart.Data tieData = new PieChart.Data("Ties", 0);
+    PieChart chart;
+
+    MetricsServer metricsServer;
+
+    /*
+     * Start decoding the images off the FX thread while the toolkit starts, the logo first since the main menu shows it.
+     * Metrics can be switched on over JMX at any time; start with --metrics-port=<port> to record them
+     * from the start and serve them to Prometheus.
+     */
+    @Override
+    public void init() {
+        GameMetrics.get().register();
+        String metricsPort = getParameters().getNamed().get("metrics-port");
+        if (metricsPort != null) {
+            try {
+                metricsServer = new MetricsServer(Integer.parseInt(metricsPort));
+            }
+            catch (IOException ex) {
+                System.err.println("Metrics will not be served: " + ex.getMessage());
+            }
+        }
+
+        imageCache.prefetch("rock_selected.png", IMAGE_WIDTH);
+        imageCache.prefetch("paper_selected.png", PAPER_WIDTH);
+        imageCache.prefetch("scissors_selected.png", IMAGE_WIDTH);
+        imageCache.prefetch("rock.png", IMAGE_WIDTH);
+        imageCache.prefetch("paper.png", PAPER_WIDTH);
+        imageCache.prefetch("scissors.png", IMAGE_WIDTH);
+    }
 
     @Override
     public void start(Stage stage) throws IOException {
 
+        //Load the images of the logo, the game scene waits for the others when it is first shown
+        rockImageColor = imageCache.get("rock_selected.png", IMAGE_WIDTH);
+        paperImageColor = imageCache.get("paper_selected.png", PAPER_WIDTH);
+        scissorsImageColor = imageCache.get("scissors_selected.png", IMAGE_WIDTH);
+
+        // Count the rounds of this window's games into live statistics for the chart
+        engine.setStats(new GameStats());
+        engine.setAnalytics(new SessionAnalytics());
+        engine.setEvents(events);
+        engine.publishMoveStreak(RoundEngine.ROCK, ROCK_OUT_STREAK);
+
+        String seed = getParameters().getNamed().get("seed");
+        if (seed != null)
+            randomSource = new RandomSource(Long.parseLong(seed));
+
+        String logFile = getParameters().getNamed().get("log");
+        Path logPath = logFile != null ? Path.of(logFile) : Path.of(System.getProperty("user.home"), ".rock-paper-scissors", "matches.log");
+        try {
+            matchLog = new MatchLog(logPath);
+        }
+        catch (IOException ex) {
+            System.err.println("Rounds will not be logged: " + ex.getMessage());
+        }
+
+        String profileFile = getParameters().getNamed().get("profiles");
+        Path profilePath = profileFile != null ? Path.of(profileFile) : Path.of(System.getProperty("user.home"), ".rock-paper-scissors", "profiles.db");
+        try {
+            profileStore = new ProfileStore(profilePath);
+        }
+        catch (IOException ex) {
+            System.err.println("Profiles will not be saved: " + ex.getMessage());
+        }
+
+        String recordFile = getParameters().getNamed().get("record");
+        Path recordPath = recordFile != null ? Path.of(recordFile) : Path.of(System.getProperty("user.home"), ".rock-paper-scissors", "sessions.rec");
+        try {
+            recorder = new SessionRecorder(recordPath);
+        }
+        catch (IOException ex) {
+            System.err.println("Games will not be recorded: " + ex.getMessage());
+        }
+
+        // Subscribe the window, the saves and the metrics to the game's events
+        windowEvents = events.subscribe("window", EventDispatcher.DEFAULT_CAPACITY, EventDispatcher.BackPressure.DROP, this::showEvent);
+        events.subscribeThread("saves", SAVE_EVENTS, EventDispatcher.BackPressure.OVERFLOW, this::saveEvent);
+        events.subscribeThread("metrics", EventDispatcher.DEFAULT_CAPACITY, EventDispatcher.BackPressure.DROP, this::meterEvent);
+
         //Load the default color theme
-        loadTheme(brightPalette);
+        prepareTheme();
+        loadTheme(theme);
 
         /*
          * Build the main menu scene with implementation.
@@ -163,9 +328,24 @@ public class HelloApplication extends Application {
         HBox themeBox = makeHBox(1, Pos.CENTER_RIGHT, themeLabel, metalButton, brightButton, easterButton);
 
         // implement what happens when the theme buttons are pressed
-        metalButton.setOnAction(e -> loadTheme(metalPalette));
-        brightButton.setOnAction(e -> loadTheme(brightPalette));
-        easterButton.setOnAction(e -> loadTheme(easterPalette));
+        metalButton.setOnAction(e -> loadTheme(Theme.METAL));
+        brightButton.setOnAction(e -> loadTheme(Theme.BRIGHT));
+        easterButton.setOnAction(e -> loadTheme(Theme.EASTER));
+
+        // Add a button for every theme in the themes folder
+        String themeFolder = getParameters().getNamed().get("themes");
+        Path themePath = themeFolder != null ? Path.of(themeFolder) : Path.of(System.getProperty("user.home"), ".rock-paper-scissors", "themes");
+        for (Theme userTheme : Theme.loadAll(themePath)) {
+            if (userTheme.getStylesheet() != null) {
+                for (Region root : themeRoots())
+                    root.getStylesheets().add(userTheme.getStylesheet());
+            }
+            ToggleButton userThemeButton = makeButton(userTheme.getName(), THEME_SIZE);
+            userThemeButton.getStyleClass().add("themed-button");
+            userThemeButton.setToggleGroup(themeGroup);
+            userThemeButton.setOnAction(e -> loadTheme(userTheme));
+            themeBox.getChildren().add(userThemeButton);
+        }
 
         // Build the logo by first loading images into ImageViews
         ImageView rockLogoImage = new ImageView(rockImageColor);
@@ -192,7 +372,7 @@ public class HelloApplication extends Application {
 
         // Put the images and text on a stack pane for the final logo
         StackPane logoStackPane = new StackPane(logoPane, gameLogo);
-        StackPane.setMargin(gameLogo, new Insets(rockImage.getHeight(), 0, 0, 0));
+        StackPane.setMargin(gameLogo, new Insets(rockImageColor.getHeight(), 0, 0, 0));
 
         // keep the logo together if the screen gets resized.
         logoPane.widthProperty().addListener(e -> anchorImages(logoPane, rockLogoImage, paperLogoImage, scissorsLogoImage));
@@ -208,19 +388,96 @@ public class HelloApplication extends Application {
         normalButton.setToggleGroup(difficultyGroup);
         hardButton.setToggleGroup(difficultyGroup);
         superHardButton.setToggleGroup(difficultyGroup);
+        mindReaderButton.setToggleGroup(difficultyGroup);
+        babyEasyButton.setUserData(Difficulty.CAN_I_WIN);
+        easyButton.setUserData(Difficulty.EASY);
+        normalButton.setUserData(Difficulty.NORMAL);
+        hardButton.setUserData(Difficulty.HARD);
+        superHardButton.setUserData(Difficulty.NOT_READY);
+        mindReaderButton.setUserData(Difficulty.MIND_READER);
 
         // make the HBox to hold the difficulty options
-        HBox difficultyBox = makeHBox(10, Pos.CENTER, babyEasyButton, easyButton, normalButton, hardButton, superHardButton);
+        HBox difficultyBox = makeHBox(10, Pos.CENTER, babyEasyButton, easyButton, normalButton, hardButton, superHardButton, mindReaderButton);
 
         // Put all the elements into the VBox and display the scene.
         mainMenu.getChildren().addAll(themeBox, logoStackPane, difficultyLabel, difficultyBox, nameField, roundsField, playButton, nameErrorLabel, roundsErrorLabel);
-        Scene scene = new Scene(mainMenu, WIDTH, HEIGHT);
+        menuScene = new Scene(mainMenu, WIDTH, HEIGHT);
         stage.setTitle("Rock, Paper, Scissors");
-        stage.setScene(scene);
+        stage.setScene(menuScene);
+
+        // Report the time to the first frame when started with --startup-time, and quit right after it with
+        // --exit-after-first-frame so startup can be measured and trained for the class data sharing archive
+        boolean exitAfterFirstFrame = getParameters().getRaw().contains("--exit-after-first-frame");
+        if (exitAfterFirstFrame || getParameters().getRaw().contains("--startup-time")) {
+            StartupTimer.onFirstFrame(menuScene, millis -> {
+                System.out.printf("First frame %d ms after main, %d ms after JVM start%n", millis, StartupTimer.sinceJvmStart());
+                if (exitAfterFirstFrame)
+                    Platform.runLater(Platform::exit);
+            });
+        }
 
-        /*
-         * Put together the game scene.
-         */
+        if (getParameters().getRaw().contains("--probe")) {
+            renderProbe = new RenderProbe();
+            renderProbe.start();
+        }
+
+        // implement what happens when the play button is pressed. The game scene is put together the first time.
+        playButton.setOnAction(e -> {
+            try {
+                nameErrorLabel.setText("");
+                roundsErrorLabel.setText("");
+                name = nameField.getText();
+                if (name.length() == 0)
+                    nameErrorLabel.setText("You must enter a name.");
+                int roundsToPlay = Integer.parseInt(roundsField.getText());
+                engine.setRoundsToPlay(roundsToPlay);
+                if (roundsToPlay < 0)
+                    roundsErrorLabel.setText("Please enter a positive integer.");
+
+                // assign the difficulty factor based on selection. When normal is selected, 0.5 is only used to identify
+                // that it is normal difficulty.
+                difficulty = (Difficulty) difficultyGroup.getSelectedToggle().getUserData();
+                engine.setDifficulty(difficulty);
+
+                if (name.length() != 0 && roundsToPlay > 0) {
+                    nameErrorLabel.setText("");
+                    roundsErrorLabel.setText("");
+                    newSession();
+                    if (gameScene == null)
+                        buildGameScene(stage);
+                    stage.setScene(gameScene);
+                    inputPump.start();
+                    updateLabels();
+
+                    // Start with --script=<file> to play the moves of a script in this game
+                    String script = getParameters().getNamed().get("script");
+                    if (script != null)
+                        startScript(Path.of(script));
+                }
+            }
+            catch (NumberFormatException ex) {
+                roundsErrorLabel.setText("You must provide an integer for the number of rounds.");
+            }
+            finally {
+                playButton.setSelected(false);
+            }
+        });
+
+        stage.show();
+    }
+
+    /*
+     * Put together the game scene. This happens when the first game begins, so the main menu shows sooner.
+     */
+    public void buildGameScene(Stage stage) {
+
+        // Wait for the images the main menu did not need
+        rockImage = imageCache.get("rock.png", IMAGE_WIDTH);
+        paperImage = imageCache.get("paper.png", PAPER_WIDTH);
+        scissorsImage = imageCache.get("scissors.png", IMAGE_WIDTH);
+        rockSelectImage.setImage(rockImage);
+        paperSelectImage.setImage(paperImage);
+        scissorsSelectImage.setImage(scissorsImage);
 
         // Get the rock, paper, scissor buttons ready for the game
         paperSelectImage.setRotate(120);
@@ -255,199 +512,368 @@ public class HelloApplication extends Application {
 
         // Prepare the pane that will hold the animations for the game
         animationPane.setPrefSize(WIDTH, 200);
+        playerAnimation.setRotate(90);
+        computerAnimation.setRotate(-90);
+        leftLine.setStroke(Color.TRANSPARENT);
+        rightLine.setStroke(Color.TRANSPARENT);
 
-        // Prepare the scene for the random pop-up
-        Scene rockScene = new Scene(rockOutBox, 200, 200);
-
-        // Implement the event handler for when the player makes a choice
-        rockSelectImage.setOnMouseClicked(e -> {
-            playGame(0);
-            
-            // Check if rock has been selected 5 times in a row and display an animation
-            rockOutCount++;
-            if (rockOutCount >= 5) {
-                
-                //Prepare the stage for the random pop-up
-                Stage rockStage = new Stage();
-
-                // Prepare the initial image rotation
-                rockOutImageView.setRotate(45);
-
-                //Set up the event handler for the KeyFrame so that the image moves back and forth
-                EventHandler<ActionEvent> changeFrame = ev -> {
-                    if (rockOutImageView.getRotate() == -45)
-                        rockOutImageView.setRotate(45);
-                    else
-                        rockOutImageView.setRotate(-45);
-                };
-
-                // Prepare the animation to run based on the event handler which will close by itself after 10 cycles
-                Timeline rockAnimation = new Timeline(new KeyFrame(Duration.millis(200), changeFrame));
-                rockAnimation.setOnFinished(ov -> rockStage.close());
-                rockAnimation.setCycleCount(10);
-                rockAnimation.play();
-
-                rockStage.setScene(rockScene);
-                rockStage.show();
-                rockOutCount = 0;
-            }
-        });
-        paperSelectImage.setOnMouseClicked(e -> {
-            playGame(1);
-            rockOutCount = 0;
-        });
-        scissorsSelectImage.setOnMouseClicked(e -> {
-            playGame(2);
-            rockOutCount = 0;
+        // Prepare the player animation
+        ptPlayer.setDuration(Duration.millis(2000));
+        ptPlayer.setPath(leftLine);
+        ptPlayer.setNode(playerAnimation);
+        ptPlayer.setCycleCount(1);
+        ptPlayer.setOnFinished(e -> {
+            updateLabels();
+            gameOverLabel.setVisible(true);
+            checkGameOver();
+            if (renderProbe != null)
+                renderProbe.roundFinished(engine.getCurrentRound() - 1);
         });
 
+        // Prepare the computer animation
+        ptComputer.setDuration(Duration.millis(2000));
+        ptComputer.setPath(rightLine);
+        ptComputer.setNode(computerAnimation);
+        ptComputer.setCycleCount(1);
+
+        // Implement the event handler for when the player makes a choice. The move is queued until the game is ready.
+        rockSelectImage.setOnMouseClicked(e -> queueMove(0));
+        paperSelectImage.setOnMouseClicked(e -> queueMove(1));
+        scissorsSelectImage.setOnMouseClicked(e -> queueMove(2));
+
         // prepare the HBox that holds the game data
         HBox dataBox = makeHBox(10, Pos.CENTER, winLabel, lossLabel, tieLabel);
 
         // prepare the HBox that holds the menu option buttons
         HBox buttonBox = makeHBox(10, Pos.CENTER, resetButton, menuButton, dataButton);
 
+        // prepare the HBox that holds the turbo switch. Animations come back when it is off.
+        HBox turboBox = makeHBox(1, Pos.CENTER_RIGHT, turboButton);
+
         // put everything together in a VBox and put it in a scene
-        gameBox.getChildren().addAll(welcomeLabel, selectPane, animationPane, gameOverLabel, dataBox, buttonBox);
-        Scene gameScene = new Scene(gameBox, WIDTH, HEIGHT);
+        gameBox.getChildren().addAll(turboBox, welcomeLabel, selectPane, animationPane, gameOverLabel, dataBox, buttonBox);
+        gameScene = new Scene(gameBox, WIDTH, HEIGHT);
+
+        // The keyboard plays too: R for rock, P for paper and S for scissors
+        gameScene.setOnKeyPressed(e -> {
+            switch (e.getCode()) {
+                case R -> queueMove(0);
+                case P -> queueMove(1);
+                case S -> queueMove(2);
+            }
+        });
 
         // implement what happens when the reset button is pressed
         resetButton.setOnAction(e -> {
             resetGame();
+            newSession();
             resetButton.setSelected(false);
         });
 
         // implement what happens when the menu button is pressed
         menuButton.setOnAction(e -> {
             resetGame();
-            stage.setScene(scene);
+            // the player is asked for their name again before the next game
+            name = "";
+            // the menu has no moves to play, so the pulses stop until the next game
+            inputPump.stop();
+            stage.setScene(menuScene);
             menuButton.setSelected(false);
         });
 
-        // implement what happens when the play button is pressed
-        playButton.setOnAction(e -> {
-            try {
-                nameErrorLabel.setText("");
-                roundsErrorLabel.setText("");
-                name = nameField.getText();
-                if (name.length() == 0)
-                    nameErrorLabel.setText("You must enter a name.");
-                roundsToPlay = Integer.parseInt(roundsField.getText());
-                if (roundsToPlay < 0)
-                    roundsErrorLabel.setText("Please enter a positive integer.");
-                if (name.length() != 0 && roundsToPlay > 0) {
-                    nameErrorLabel.setText("");
-                    roundsErrorLabel.setText("");
-                    stage.setScene(gameScene);
-                    updateLabels();
-                }
-
-                // assign the difficulty factor based on selection. When normal is selected, 0.5 is only used to identify
-                // that it is normal difficulty.
-                if (babyEasyButton.isSelected())
-                    chanceToWin = 0.8f;
-                else if (easyButton.isSelected())
-                    chanceToWin = 0.6f;
-                else if (normalButton.isSelected())
-                    chanceToWin = 0.5f;
-                else if (hardButton.isSelected())
-                    chanceToWin = 0.4f;
-                else if (superHardButton.isSelected())
-                    chanceToWin = 0.2f;
-
-            }
-            catch (NumberFormatException ex) {
-                roundsErrorLabel.setText("You must provide an integer for the number of rounds.");
-            }
-            finally {
-                playButton.setSelected(false);
-            }
+        // implement what happens when the status button is pressed. The pie chart is brought up to date and displayed
+        dataButton.setOnAction(e -> {
+            if (chartStage == null)
+                buildChartStage();
+            updateChart();
+            chartStage.show();
+            dataButton.setSelected(false);
         });
+    }
 
-        /*
-         * Create the stage and scene for a pie chart that displays the game's current stats
-         */
-        PieChart chart = new PieChart();
+    /*
+     * Create the stage and scene for a pie chart that displays the game's current stats. This happens
+     * the first time the stats are asked for.
+     */
+    public void buildChartStage() {
+        chart = new PieChart(FXCollections.observableArrayList(winData, lossData, tieData));
         chart.setTitle("Current Stats");
         chartPane.getChildren().add(chart);
-        Stage chartStage = new Stage();
+        chartStage = new Stage();
         Scene chartScene = new Scene(chartPane);
         chartStage.setTitle("Game Stats");
         chartStage.setScene(chartScene);
-
-        // implement what happens when the status button is pressed. Pie chart data is passed and a pie chart is displayed
-        dataButton.setOnAction(e -> {
-            chart.setData(FXCollections.observableArrayList(new PieChart.Data("Wins", wins), new PieChart.Data("Losses", losses), new PieChart.Data("Ties", ties)));
-            chartStage.show();
-            dataButton.setSelected(false);
-        });
-
-        stage.show();
     }
 
     /*
      * Set the game back to initial values.
      */
     public void resetGame() {
-        name = "";
-        wins = 0;
-        losses = 0;
-        ties = 0;
-        currentRound = 1;
-        rockOutCount = 0;
+        stopScript();
+        engine.reset();
+        labelsDirty = false;
+        moveQueue.clear();
         setChoiceDisabled(false);
+        ptPlayer.stop();
+        ptComputer.stop();
         animationPane.getChildren().clear();
         gameOverLabel.setText("");
         updateLabels();
     }
 
     /*
-     * Take in the player's choice, randomly generate the computer's choice and compare to find the winner of a round.
+     * Take in the player's choice and let the engine resolve the round. Who won is shown when the window takes the event.
      */
     public int playRound(int playerChoice) {
+        return engine.playRound(playerChoice);
+    }
 
-        Random rand = new Random();
-        int computerChoice = rand.nextInt(3);
-        double tryToWin = rand.nextDouble();
-
-        //check the chance to win and affect the results
-        if (chanceToWin > 0.5) {
-            if (tryToWin < chanceToWin) {
-                if (playerChoice == 0)
-                    computerChoice = 2;
-                else if (playerChoice == 1)
-                    computerChoice = 0;
-                else
-                    computerChoice = 1;
+    /*
+     * Show who won the last round.
+     */
+    public void showOutcome() {
+        switch (lastOutcome) {
+            case RoundEngine.LOSS -> gameOverLabel.setText("Computer Wins!");
+            case RoundEngine.WIN -> gameOverLabel.setText("You Win!");
+            default -> gameOverLabel.setText("It's a Tie!");
+        }
+    }
+
+    /*
+     * Play the queued moves the game is ready for, then bring the labels up to date.
+     */
+    public void processInput() {
+        if (!engine.isGameOver()) {
+            if (turboButton.isSelected())
+                playBatch();
+            else if (ptPlayer.getStatus() != Animation.Status.RUNNING) {
+                int move = moveQueue.poll();
+                if (move >= 0)
+                    playGame(move);
             }
         }
-        else if (chanceToWin < 0.5) {
-            if (tryToWin > chanceToWin) {
-                if (playerChoice == 0)
-                    computerChoice = 1;
-                else if (playerChoice == 1)
-                    computerChoice = 2;
-                else
-                    computerChoice = 0;
+        windowEvents.poll();
+        refreshLabels();
+    }
+
+    /*
+     * Play as many queued moves as the game has rounds left in one batch, without animations.
+     */
+    public void playBatch() {
+        int roundsLeft = engine.getRoundsToPlay() - engine.getCurrentRound() + 1;
+        int count = moveQueue.drainTo(moveBatch, roundsLeft);
+        if (count > 0)
+            engine.playRounds(moveBatch, count, null, null);
+    }
+
+    /*
+     * Queue a move the player clicked or typed. The FX thread must not wait for room, so a move that
+     * does not fit is refused where the player can see it instead of being lost without a word.
+     */
+    public void queueMove(int move) {
+        if (!moveQueue.offer(move))
+            gameOverLabel.setText("Too many moves are waiting, that one was not taken.");
+    }
+
+    /*
+     * Feed the moves of a script file into the move queue on a background thread.
+     */
+    public void startScript(Path script) {
+        stopScript();
+        Thread feeder = new Thread(() -> {
+            try {
+                MoveScript.feed(script, moveQueue);
+            }
+            catch (IOException ex) {
+                System.err.println("The script could not be played: " + ex.getMessage());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "move-script");
+        feeder.setDaemon(true);
+        scriptFeeder = feeder;
+        feeder.start();
+    }
+
+    /*
+     * Stop the script feeding the move queue, if one is, so its moves do not end up in the next game.
+     * The feeder only ever waits for room in the queue, which gives way to the interrupt.
+     */
+    public void stopScript() {
+        Thread feeder = scriptFeeder;
+        if (feeder == null)
+            return;
+        scriptFeeder = null;
+        feeder.interrupt();
+        try {
+            feeder.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Bring the labels up to date with every round played in turbo mode since the last pulse.
+     */
+    public void refreshLabels() {
+        if (!labelsDirty)
+            return;
+        labelsDirty = false;
+        showOutcome();
+        updateLabels();
+        gameOverLabel.setVisible(true);
+        checkGameOver();
+    }
+
+    /*
+     * Take the game's events in the window, once per pulse: show who won at the end of the batch, stop
+     * the game at its end and show the ROCK OUT pop-up.
+     */
+    public void showEvent(GameEvent event, boolean endOfBatch) {
+        switch (event.getType()) {
+            case ROUND_PLAYED -> {
+                lastOutcome = event.getOutcome();
+                outcomePending = true;
+            }
+            case GAME_OVER -> setChoiceDisabled(true);
+            case STREAK_REACHED -> showRockOut();
+            case RESET -> { }
+        }
+        // Only the last round of the batch is shown. It waits hidden under a running animation, rounds
+        // played without one show at once
+        if (endOfBatch && outcomePending) {
+            outcomePending = false;
+            if (ptPlayer.getStatus() == Animation.Status.RUNNING)
+                showOutcome();
+            else
+                labelsDirty = true;
+        }
+    }
+
+    /*
+     * Take the game's events on the saves thread: append every round to the match log and the game's
+     * recording, and save a finished game to the player's profile and the session recording. The match
+     * log is flushed at the end of every batch, so a crash loses no more than the rounds still in the ring.
+     * Problems saving never stop the game.
+     */
+    public void saveEvent(GameEvent event, boolean endOfBatch) {
+        switch (event.getType()) {
+            case ROUND_PLAYED -> {
+                if (matchLog != null) {
+                    try {
+                        matchLog.append(event.getTimestamp(), event.getSessionId(), event.getRound(), event.getPlayerChoice(),
+                                event.getComputerChoice(), event.getOutcome(), event.getDifficulty().ordinal());
+                    }
+                    catch (IOException ex) {
+                        System.err.println("Rounds will no longer be logged: " + ex.getMessage());
+                        matchLog = null;
+                    }
+                }
+                PlayedGame game = playedGames.get(event.getSessionId());
+                if (game != null)
+                    game.recording().add(event.getPlayerChoice(), event.getOutcome());
+            }
+            case GAME_OVER -> {
+                PlayedGame game = playedGames.remove(event.getSessionId());
+                if (game != null) {
+                    saveProfile(game.name(), event);
+                    saveRecording(game.recording());
+                }
+            }
+            case RESET -> playedGames.remove(event.getSessionId());
+            case STREAK_REACHED -> { }
+        }
+        if (endOfBatch && matchLog != null) {
+            try {
+                matchLog.flush();
+            }
+            catch (IOException ex) {
+                System.err.println("Rounds will no longer be logged: " + ex.getMessage());
+                matchLog = null;
             }
         }
+    }
 
-        if ((playerChoice == 0 && computerChoice == 1) || (playerChoice == 1 && computerChoice == 2) || (playerChoice == 2 && computerChoice == 0)) {
-            losses++;
-            gameOverLabel.setText("Computer Wins!");
+    /*
+     * Take the game's events on the metrics thread. Every round is timed, its outcome is counted with the
+     * rest of its batch at the end of the batch. Rounds are only timed while metrics are on.
+     */
+    public void meterEvent(GameEvent event, boolean endOfBatch) {
+        if (event.getType() == GameEvent.Type.ROUND_PLAYED && event.getNanos() != 0) {
+            GameMetrics.get().roundTimed(event.getSessionId(), event.getRound(), event.getDifficulty(), event.getPlayerChoice(),
+                    event.getComputerChoice(), event.getOutcome(), event.getNanos());
+            meteredOutcomes[event.getDifficulty().ordinal()][event.getOutcome()]++;
+            meteredRounds++;
         }
-        else if ((playerChoice == 0 && computerChoice == 2) || (playerChoice == 1 && computerChoice == 0) || (playerChoice == 2 && computerChoice == 1)) {
-            wins++;
-            gameOverLabel.setText("You Win!");
+        if (endOfBatch && meteredRounds != 0) {
+            GameMetrics.get().outcomesPlayed(meteredOutcomes);
+            for (long[] row : meteredOutcomes)
+                Arrays.fill(row, 0);
+            meteredRounds = 0;
         }
-        else {
-            ties++;
-            gameOverLabel.setText("It's a Tie!");
+    }
+
+    /*
+     * Start a new game from a fresh seed, remembered so the game can be recorded and replayed.
+     */
+    public void newSession() {
+        long seed = randomSource.nextSeed();
+        engine.setRandom(randomSource.newGenerator(seed));
+        sessionId = Math.max(sessionId + 1, System.currentTimeMillis());
+        engine.setSessionId(sessionId);
+        playedGames.put(sessionId, new PlayedGame(name, new SessionRecording(randomSource.getAlgorithm(), seed, difficulty, engine.getRoundsToPlay())));
+    }
+
+    /*
+     * Add a game that ended to the player's profile.
+     */
+    public void saveProfile(String player, GameEvent gameOver) {
+        if (profileStore == null || player == null || player.isBlank())
+            return;
+        try {
+            profileStore.recordGame(player, gameOver.getDifficulty(), gameOver.getWins(), gameOver.getLosses(), gameOver.getTies(),
+                    gameOver.getLongestWinStreak(), gameOver.getLongestLossStreak());
         }
+        catch (IOException ex) {
+            System.err.println("Profiles will no longer be saved: " + ex.getMessage());
+            profileStore = null;
+        }
+    }
 
-        currentRound++;
+    /*
+     * Save a game that ended to the session recording.
+     */
+    public void saveRecording(SessionRecording recording) {
+        if (recorder == null)
+            return;
+        try {
+            recorder.write(recording);
+        }
+        catch (IOException ex) {
+            System.err.println("Games will no longer be recorded: " + ex.getMessage());
+            recorder = null;
+        }
+    }
 
-        return computerChoice;
+    /*
+     * Let the saves catch up with the last events, then make sure the last rounds reach the match log and
+     * the profiles reach the disk when the window closes.
+     */
+    @Override
+    public void stop() throws IOException {
+        inputPump.stop();
+        stopScript();
+        events.close();
+        if (matchLog != null)
+            matchLog.close();
+        if (profileStore != null)
+            profileStore.close();
+        if (recorder != null)
+            recorder.close();
+        if (metricsServer != null)
+            metricsServer.stop();
     }
 
     /*
@@ -540,7 +966,7 @@ public class HelloApplication extends Application {
      * Method checks to see if the game should be over and freezes the game if yes.
      */
     public void checkGameOver() {
-        if (currentRound > roundsToPlay) {
+        if (engine.isGameOver()) {
             setChoiceDisabled(true);
             gameOverLabel.setText("GAME OVER");
             gameOverLabel.setVisible(true);
@@ -554,16 +980,12 @@ public class HelloApplication extends Application {
      */
     public void playGame(int playerChoice) {
 
-        //Clear out the animation pane of the previous animation
-        animationPane.getChildren().clear();
-
-        // Prepare ImageViews to hold images for the player and computer animations
-        ImageView player = new ImageView();
-        player.setRotate(90);
-        ImageView computer = new ImageView();
-        computer.setRotate(-90);
+        if (renderProbe != null)
+            renderProbe.roundStarted();
 
-        setChoiceDisabled(true);
+        // Put the reused animation nodes back in the pane after a reset
+        if (animationPane.getChildren().isEmpty())
+            animationPane.getChildren().addAll(leftLine, rightLine, playerAnimation, computerAnimation);
 
         // Hide the win status label until the round is over
         gameOverLabel.setVisible(false);
@@ -571,38 +993,53 @@ public class HelloApplication extends Application {
         int computerChoice = playRound(playerChoice);
 
         // Get the animation images based on what the player and computer chose
-        player.setImage(getAnimationImage(playerChoice));
-        computer.setImage(getAnimationImage(computerChoice));
-
-        // Prepare the animation paths
-        Line leftLine = new Line(0, animationPane.getPrefHeight()/2, animationPane.getPrefWidth()/2 - player.getImage().getHeight()/2, animationPane.getPrefHeight()/2);
-        leftLine.setStroke(Color.TRANSPARENT);
-        Line rightLine = new Line(animationPane.getPrefWidth(), animationPane.getPrefHeight()/2, animationPane.getPrefWidth()/2 + computer.getImage().getHeight()/2, animationPane.getPrefHeight()/2);
-        rightLine.setStroke(Color.TRANSPARENT);
-
-        animationPane.getChildren().addAll(leftLine, rightLine, player, computer);
+        playerAnimation.setImage(getAnimationImage(playerChoice));
+        computerAnimation.setImage(getAnimationImage(computerChoice));
+
+        // Move the animation paths to fit this round's images
+        double middleY = animationPane.getPrefHeight()/2;
+        leftLine.setStartX(0);
+        leftLine.setStartY(middleY);
+        leftLine.setEndX(animationPane.getPrefWidth()/2 - playerAnimation.getImage().getHeight()/2);
+        leftLine.setEndY(middleY);
+        rightLine.setStartX(animationPane.getPrefWidth());
+        rightLine.setStartY(middleY);
+        rightLine.setEndX(animationPane.getPrefWidth()/2 + computerAnimation.getImage().getHeight()/2);
+        rightLine.setEndY(middleY);
+
+        ptComputer.playFromStart();
+        ptPlayer.playFromStart();
+    }
 
-        // Prepare the player animation
-        PathTransition ptPlayer = new PathTransition();
-        ptPlayer.setDuration(Duration.millis(2000));
-        ptPlayer.setPath(leftLine);
-        ptPlayer.setNode(player);
-        ptPlayer.setCycleCount(1);
-        ptPlayer.setOnFinished(e -> {
-            updateLabels();
-            gameOverLabel.setVisible(true);
-            checkGameOver();
-        });
+    /*
+     * Show the ROCK OUT pop-up, making its stage and animation the first time.
+     */
+    public void showRockOut() {
+        if (rockStage == null) {
+
+            //Prepare the stage for the random pop-up and its image
+            rockStage = new Stage();
+            rockStage.setScene(new Scene(rockOutBox, 200, 200));
+            rockOutImageView.setImage(imageCache.get("rock_out.png", IMAGE_WIDTH));
+
+            //Set up the event handler for the KeyFrame so that the image moves back and forth
+            EventHandler<ActionEvent> changeFrame = ev -> {
+                if (rockOutImageView.getRotate() == -45)
+                    rockOutImageView.setRotate(45);
+                else
+                    rockOutImageView.setRotate(-45);
+            };
 
-        // Prepare the computer animation
-        PathTransition ptComputer = new PathTransition();
-        ptComputer.setDuration(Duration.millis(2000));
-        ptComputer.setPath(rightLine);
-        ptComputer.setNode(computer);
-        ptComputer.setCycleCount(1);
+            // Prepare the animation to run based on the event handler which will close by itself after 10 cycles
+            rockAnimation = new Timeline(new KeyFrame(Duration.millis(200), changeFrame));
+            rockAnimation.setOnFinished(ov -> rockStage.close());
+            rockAnimation.setCycleCount(10);
+        }
 
-        ptComputer.play();
-        ptPlayer.play();
+        // Prepare the initial image rotation
+        rockOutImageView.setRotate(45);
+        rockAnimation.playFromStart();
+        rockStage.show();
     }
 
     /*
@@ -610,52 +1047,69 @@ public class HelloApplication extends Application {
      */
     public void updateLabels() {
         welcomeLabel.setText(String.format("Select an icon below, %s.", name));
-        roundsLabel.setText(String.format("ROUND\n%d", currentRound));
-        winLabel.setText("WINS\n" + wins);
-        lossLabel.setText("LOSSES\n" + losses);
-        tieLabel.setText("TIES\n" + ties);
+        roundsLabel.setText(String.format("ROUND\n%d", engine.getCurrentRound()));
+        winLabel.setText("WINS\n" + engine.getWins());
+        lossLabel.setText("LOSSES\n" + engine.getLosses());
+        tieLabel.setText("TIES\n" + engine.getTies());
+        if (chartStage != null && chartStage.isShowing())
+            updateChart();
     }
 
     /*
-     * Change the colors and fonts of all GUI elements with a given color palette which is an array of Colors.
+     * Update the values of the existing pie chart slices from a snapshot of the game's statistics.
      */
-    public void loadTheme(String[] palette) {
-
-        changeStyle(palette[1], themeLabel);
-        changeStyle(palette[0], metalButton, brightButton, easterButton);
-        changeBackground(palette[3], nameField, roundsField);
-        changeButtonTheme(palette[3], metalButton, brightButton, easterButton, resetButton, menuButton, dataButton, playButton);
-        changeStyle(palette[3], difficultyLabel, welcomeLabel, roundsLabel, winLabel, lossLabel, tieLabel, rockOutLabel);
-        changeStyle(palette[2], gameOverLabel);
-        changeStyle(palette[2], nameErrorLabel, roundsErrorLabel);
-        changeStyle(palette[0], playButton, resetButton, menuButton, dataButton);
-        changeStyle(palette[1], babyEasyButton, easyButton, normalButton, hardButton, superHardButton);
-        changeBackground(palette[0], mainMenu, gameBox, rockOutBox, chartPane);
+    public void updateChart() {
+        GameStats.Snapshot snapshot = engine.getStats().snapshot();
+        winData.setPieValue(snapshot.wins());
+        lossData.setPieValue(snapshot.losses());
+        tieData.setPieValue(snapshot.ties());
+
+        SessionAnalytics analytics = engine.getAnalytics();
+        chart.setTitle(String.format("Current Stats\nLongest streaks: %d wins, %d losses\nLast %d rounds: %.0f%% won",
+                analytics.getLongestWinStreak(), analytics.getLongestLossStreak(),
+                Math.min(analytics.getRounds(), SessionAnalytics.DEFAULT_WINDOW), analytics.getWindowWinRate() * 100));
     }
 
     /*
-     * Method that changes the text color of a series of given nodes.
+     * Give every GUI element the style class of its role in a theme and let the root of every scene use theme.css.
+     * This only has to happen once, afterwards changing the theme only changes the roots.
      */
-    public void changeStyle(String color, Labeled...nodes) {
-        for (Labeled node : nodes) {
-            node.setTextFill(Color.web(color));
+    public void prepareTheme() {
+        addStyleClass("body-text", themeLabel, babyEasyButton, easyButton, normalButton, hardButton, superHardButton, mindReaderButton);
+        addStyleClass("title-text", difficultyLabel, welcomeLabel, roundsLabel, winLabel, lossLabel, tieLabel, rockOutLabel);
+        addStyleClass("error-text", gameOverLabel, nameErrorLabel, roundsErrorLabel);
+        addStyleClass("themed-button", metalButton, brightButton, easterButton, turboButton, resetButton, menuButton, dataButton, playButton);
+        addStyleClass("themed-field", nameField, roundsField);
+        for (Region root : themeRoots()) {
+            root.getStyleClass().add("themed-pane");
+            root.getStylesheets().add(THEME_STYLESHEET);
         }
     }
 
     /*
-     * Method that changes the base color of a ToggleButton.
+     * Return the root of every scene.
      */
-    public void changeButtonTheme(String color, ToggleButton...buttons) {
-        for (ToggleButton button : buttons)
-            button.setStyle(String.format("-fx-base: %s", color));
+    public Region[] themeRoots() {
+        return new Region[] { mainMenu, gameBox, rockOutBox, chartPane };
     }
 
     /*
-     * Method that changes the background color of a node
+     * Change the color theme by swapping the theme class of each scene's root, however many nodes the scenes hold.
      */
-    public void changeBackground(String color, Region...nodes) {
-        for (Region node : nodes)
-            node.setBackground(new Background(new BackgroundFill(Color.web(color), CornerRadii.EMPTY, new Insets(0))));
+    public void loadTheme(Theme newTheme) {
+        for (Region root : themeRoots()) {
+            root.getStyleClass().remove(theme.getStyleClass());
+            root.getStyleClass().add(newTheme.getStyleClass());
+        }
+        theme = newTheme;
+    }
+
+    /*
+     * Method that adds a style class to a series of given nodes.
+     */
+    public void addStyleClass(String styleClass, Node...nodes) {
+        for (Node node : nodes)
+            node.getStyleClass().add(styleClass);
     }
 
     /*
@@ -669,7 +1123,14 @@ public class HelloApplication extends Application {
         return field;
     }
 
-    public static void main(String[] args) {
-        launch();
+    public static void main(String[] args) throws IOException {
+        StartupTimer.mainStarted();
+
+        // --server runs the headless game server instead of the window
+        if (Arrays.asList(args).contains("--server")) {
+            GameServer.main(args);
+            return;
+        }
+        launch(args);
     }
 }
\ No newline at end of file
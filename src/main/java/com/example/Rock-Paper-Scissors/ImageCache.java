@@ -0,0 +1,69 @@
+package com.example.project_2_lansing;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the game's images from the class path and decodes each image only once per width it is shown at.
+ * Images can be prefetched on a background thread so the FX thread only waits for the ones it
+ * needs right away, and images that are rarely shown are only decoded the first time they are asked for.
+ */
+public class ImageCache {
+
+    static final String IMAGE_DIR = "/images/";
+
+    private final ConcurrentHashMap<String, CompletableFuture<Image>> images = new ConcurrentHashMap<>();
+    private final ExecutorService decoder = Executors.newFixedThreadPool(2, task -> {
+        Thread thread = new Thread(task, "image-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /*
+     * Start decoding an image in the background unless it is already decoded or on its way.
+     */
+    public CompletableFuture<Image> prefetch(String name, double width) {
+        return images.computeIfAbsent(key(name, width), key -> CompletableFuture.supplyAsync(() -> decode(name, width), decoder));
+    }
+
+    /*
+     * Return an image scaled to the given width, decoding it now if nobody asked for it before.
+     */
+    public Image get(String name, double width) {
+        // The image is decoded outside the map, so a slow decode never holds up other images in its bin
+        CompletableFuture<Image> image = new CompletableFuture<>();
+        CompletableFuture<Image> loading = images.putIfAbsent(key(name, width), image);
+        if (loading != null)
+            return loading.join();
+        try {
+            image.complete(decode(name, width));
+        }
+        catch (RuntimeException ex) {
+            image.completeExceptionally(ex);
+        }
+        return image.join();
+    }
+
+    private static String key(String name, double width) {
+        return name + '@' + width;
+    }
+
+    /*
+     * Decode an image from the images folder on the class path, keeping its aspect ratio.
+     */
+    static Image decode(String name, double width) {
+        URL url = ImageCache.class.getResource(IMAGE_DIR + name);
+        if (url == null)
+            throw new IllegalArgumentException("There is no image called " + name);
+        long start = GameMetrics.enabled() ? System.nanoTime() : 0;
+        Image image = new Image(url.toExternalForm(), width, 0, true, true);
+        if (start != 0)
+            GameMetrics.get().imageLoaded(System.nanoTime() - start);
+        return image;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary log of every round played. Rounds are fixed-width records collected in a
+ * direct buffer and written with one channel write and one fsync per batch, so appending a round
+ * is only a few buffer puts. Read the log back with MatchLogReader.
+ *
+ * The file starts with a header of MAGIC, VERSION and RECORD_SIZE, followed by records of:
+ * timestamp (long, epoch millis), session id (long), round (int), player move, computer move,
+ * outcome and difficulty ordinal (one byte each). Everything is little endian.
+ */
+public class MatchLog implements AutoCloseable {
+
+    public static final long MAGIC = 0x474F4C535052L; // "RPSLOG"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_SIZE = 24;
+    public static final int DEFAULT_BATCH = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    public MatchLog(Path path) throws IOException {
+        this(path, DEFAULT_BATCH);
+    }
+
+    /*
+     * Open a log for appending, creating it with a header when it does not exist yet.
+     * An existing log must have the header of this version. A round that was only half written when
+     * the game stopped is cut off, so the rounds appended after it line up with their records.
+     * Rounds are written to disk every batchSize rounds and on flush or close.
+     */
+    public MatchLog(Path path, int batchSize) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocateDirect(batchSize * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+
+        long size = channel.size();
+        ByteBuffer found = ByteBuffer.allocate((int) Math.min(size, HEADER_SIZE));
+        while (found.hasRemaining()) {
+            if (channel.read(found, found.position()) < 0)
+                break;
+        }
+        found.flip();
+        if (!found.equals(header.slice(0, found.limit()))) {
+            channel.close();
+            throw new IOException(path + " is not a match log.");
+        }
+        if (size < HEADER_SIZE) {
+            // nothing but a header that was cut short, write it again
+            channel.truncate(0);
+            channel.write(header, 0);
+            size = HEADER_SIZE;
+        }
+        long whole = HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        if (whole < size)
+            channel.truncate(whole);
+        channel.position(whole);
+    }
+
+    /*
+     * Add a round to the log. It reaches the disk with the rest of its batch.
+     */
+    public synchronized void append(long timestamp, long sessionId, int round, int playerChoice, int computerChoice, byte outcome, int difficulty) throws IOException {
+        buffer.putLong(timestamp)
+                .putLong(sessionId)
+                .putInt(round)
+                .put((byte) playerChoice)
+                .put((byte) computerChoice)
+                .put(outcome)
+                .put((byte) difficulty);
+        if (!buffer.hasRemaining())
+            flush();
+    }
+
+    /*
+     * Write the rounds collected so far and fsync them.
+     */
+    public synchronized void flush() throws IOException {
+        if (buffer.position() == 0)
+            return;
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        }
+        finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped reader for a MatchLog. The log is mapped in segments of up to about 2 GB, so tens of
+ * millions of rounds can be scanned or looked up by index without copying them onto the heap.
+ * Run it on a log to print a summary:
+ * java -cp target/classes com.example.project_2_lansing.MatchLogReader path/to/matches.log
+ */
+public class MatchLogReader implements AutoCloseable {
+
+    // Records per mapped segment, the largest whole number of records that fits in one mapping
+    static final int SEGMENT_RECORDS = Integer.MAX_VALUE / MatchLog.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    /*
+     * Receives the fields of one round while scanning.
+     */
+    @FunctionalInterface
+    public interface RoundVisitor {
+        void visit(long timestamp, long sessionId, int round, int playerChoice, int computerChoice, byte outcome, int difficulty);
+    }
+
+    public MatchLogReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, MatchLog.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong() != MatchLog.MAGIC || header.getInt() != MatchLog.VERSION || header.getInt() != MatchLog.RECORD_SIZE) {
+            channel.close();
+            throw new IOException(path + " is not a match log.");
+        }
+
+        // a round that was only half written when the game stopped is left out
+        size = (channel.size() - MatchLog.HEADER_SIZE) / MatchLog.RECORD_SIZE;
+        segments = new MappedByteBuffer[(int) ((size + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = (long) i * SEGMENT_RECORDS;
+            long records = Math.min(SEGMENT_RECORDS, size - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, MatchLog.HEADER_SIZE + first * MatchLog.RECORD_SIZE, records * MatchLog.RECORD_SIZE);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /*
+     * Return the number of rounds in the log.
+     */
+    public long size() {
+        return size;
+    }
+
+    /*
+     * Visit every round in the order they were played.
+     */
+    public void scan(RoundVisitor visitor) {
+        for (MappedByteBuffer segment : segments) {
+            int end = segment.limit();
+            for (int offset = 0; offset < end; offset += MatchLog.RECORD_SIZE) {
+                visitor.visit(segment.getLong(offset), segment.getLong(offset + 8), segment.getInt(offset + 16),
+                        segment.get(offset + 20), segment.get(offset + 21), segment.get(offset + 22), segment.get(offset + 23));
+            }
+        }
+    }
+
+    public long timestamp(long index) {
+        return segment(index).getLong(offset(index));
+    }
+
+    public long sessionId(long index) {
+        return segment(index).getLong(offset(index) + 8);
+    }
+
+    public int round(long index) {
+        return segment(index).getInt(offset(index) + 16);
+    }
+
+    public int playerChoice(long index) {
+        return segment(index).get(offset(index) + 20);
+    }
+
+    public int computerChoice(long index) {
+        return segment(index).get(offset(index) + 21);
+    }
+
+    public byte outcome(long index) {
+        return segment(index).get(offset(index) + 22);
+    }
+
+    public int difficulty(long index) {
+        return segment(index).get(offset(index) + 23);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Round " + index + " is not in the log.");
+        return segments[(int) (index / SEGMENT_RECORDS)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index % SEGMENT_RECORDS) * MatchLog.RECORD_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (MatchLogReader reader = new MatchLogReader(Path.of(args[0]))) {
+            long[] outcomes = new long[3];
+            long[][] byDifficulty = new long[Difficulty.values().length][3];
+            long start = System.nanoTime();
+            reader.scan((timestamp, sessionId, round, playerChoice, computerChoice, outcome, difficulty) -> {
+                outcomes[outcome]++;
+                byDifficulty[difficulty][outcome]++;
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,d rounds scanned in %.3f s%n", reader.size(), seconds);
+            System.out.printf("%-20s wins %,d  losses %,d  ties %,d%n", "All", outcomes[RoundEngine.WIN], outcomes[RoundEngine.LOSS], outcomes[RoundEngine.TIE]);
+            for (Difficulty difficulty : Difficulty.values()) {
+                long[] counts = byDifficulty[difficulty.ordinal()];
+                System.out.printf("%-20s wins %,d  losses %,d  ties %,d%n", difficulty.getLabel(), counts[RoundEngine.WIN], counts[RoundEngine.LOSS], counts[RoundEngine.TIE]);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.project_2_lansing;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves GameMetrics in the Prometheus text format at http://localhost:port/metrics.
+ * Metrics can be switched on and off with POST /metrics/enable and POST /metrics/disable.
+ * Only the loopback interface is served.
+ */
+public class MetricsServer {
+
+    private final HttpServer server;
+
+    /*
+     * Start serving on the given port and switch metrics on.
+     */
+    public MetricsServer(int port) throws IOException {
+        GameMetrics metrics = GameMetrics.get();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            int status = 200;
+            if (path.equals("/metrics"))
+                body = metrics.prometheus().getBytes(StandardCharsets.UTF_8);
+            else if (!exchange.getRequestMethod().equals("POST")) {
+                status = 405;
+                body = "Use POST.\n".getBytes(StandardCharsets.UTF_8);
+            }
+            else if (path.equals("/metrics/enable") || path.equals("/metrics/disable")) {
+                metrics.setEnabled(path.equals("/metrics/enable"));
+                body = "OK\n".getBytes(StandardCharsets.UTF_8);
+            }
+            else {
+                status = 404;
+                body = "Not found.\n".getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(null);
+        server.start();
+        metrics.register();
+        metrics.setEnabled(true);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.project_2_lansing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of player moves kept in a ring of ints, so queueing a move never allocates.
+ * Any number of producers (clicks, key presses, scripts) can add moves and one consumer takes them
+ * out in batches for the engine.
+ */
+public class MoveQueue {
+
+    private final int[] moves;
+    private int head = 0;
+    private int size = 0;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    public MoveQueue(int capacity) {
+        moves = new int[capacity];
+    }
+
+    /*
+     * Add a move if there is room and return whether it was added.
+     */
+    public boolean offer(int move) {
+        lock.lock();
+        try {
+            if (size == moves.length)
+                return false;
+            enqueue(move);
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Add a move, waiting for room when the queue is full so no move is lost.
+     */
+    public void put(int move) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == moves.length)
+                notFull.await();
+            enqueue(move);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(int move) {
+        moves[(head + size) % moves.length] = move;
+        size++;
+        notEmpty.signal();
+    }
+
+    /*
+     * Take the next move, or return -1 when the queue is empty.
+     */
+    public int poll() {
+        lock.lock();
+        try {
+            if (size == 0)
+                return -1;
+            int move = moves[head];
+            head = (head + 1) % moves.length;
+            size--;
+            notFull.signal();
+            return move;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Move up to max queued moves into the batch without waiting and return how many were moved.
+     */
+    public int drainTo(int[] batch, int max) {
+        lock.lock();
+        try {
+            return drain(batch, max);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Like drainTo, but wait up to the timeout for at least one move to arrive.
+     */
+    public int drainTo(int[] batch, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0)
+                    return 0;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return drain(batch, max);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private int drain(int[] batch, int max) {
+        int count = Math.min(Math.min(max, batch.length), size);
+        for (int i = 0; i < count; i++) {
+            batch[i] = moves[head];
+            head = (head + 1) % moves.length;
+        }
+        size -= count;
+        if (count > 0)
+            notFull.signalAll();
+        return count;
+    }
+
+    /*
+     * Throw away every queued move.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            head = 0;
+            size = 0;
+            notFull.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.project_2_lansing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Scripted moves for soak tests. A script is a text file of R, P and S letters (any case). Whitespace,
+ * commas and anything after a # on a line are ignored, so scripts can be written one move per line
+ * or as long runs like RRPSPS.
+ */
+public class MoveScript {
+
+    /*
+     * Return the move code of a script letter, or -1 for characters that are not moves.
+     */
+    static int moveOf(int letter) {
+        return switch (letter) {
+            case 'R', 'r' -> RoundEngine.ROCK;
+            case 'P', 'p' -> RoundEngine.PAPER;
+            case 'S', 's' -> RoundEngine.SCISSORS;
+            default -> -1;
+        };
+    }
+
+    /*
+     * Stream every move of a script into the queue, waiting whenever the queue is full.
+     * Return the number of moves queued.
+     */
+    public static long feed(Path script, MoveQueue queue) throws IOException, InterruptedException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                for (int i = 0; i < line.length(); i++) {
+                    char letter = line.charAt(i);
+                    if (letter == '#')
+                        break;
+                    int move = moveOf(letter);
+                    if (move >= 0) {
+                        queue.put(move);
+                        count++;
+                    }
+                    else if (!Character.isWhitespace(letter) && letter != ',')
+                        throw new IOException("Unexpected '" + letter + "' in " + script + ", moves are R, P or S.");
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.project_2_lansing;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy the computer uses to pick its move. The engine owns the random generator and passes it
+ * in, so a strategy can be replayed by replaying the generator's seed.
+ */
+public interface Opponent {
+
+    /*
+     * Choose the computer's move. The player's move of this round is passed in for strategies
+     * that are allowed to look at it, like the difficulty bias.
+     */
+    int chooseMove(int playerChoice, RandomGenerator rand);
+
+    /*
+     * Return true when the strategy looks at the player's move of the round. Such an opponent has to
+     * move second when two computers play each other.
+     */
+    default boolean peeks() {
+        return false;
+    }
+
+    /*
+     * Learn from the player's move once the round has been resolved.
+     */
+    default void observe(int playerChoice) {
+    }
+
+    /*
+     * Forget everything learned so far, for a new game.
+     */
+    default void reset() {
+    }
+}
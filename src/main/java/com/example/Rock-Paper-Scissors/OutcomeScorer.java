@@ -0,0 +1,81 @@
+package com.example.project_2_lansing;
+
+/**
+ * Scores whole columns of rounds at once for offline analysis: a column of the player's moves and a column
+ * of the computer's moves, one byte per round, give the win, loss and tie counts and, when asked for, a
+ * column of outcomes. Moves must be rock (0), paper (1) or scissors (2) of the classic game; other values
+ * give meaningless results.
+ *
+ * A round's outcome is (player - computer) mod 3, which is TIE, WIN or LOSS from the player's side, so
+ * rounds are scored without branches. When the JDK's Vector API is present (start the JVM with
+ * --add-modules jdk.incubator.vector) whole vectors of rounds are scored per instruction, otherwise
+ * one round at a time.
+ */
+public final class OutcomeScorer {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /*
+     * The counts of a column of rounds.
+     */
+    public record Counts(long wins, long losses, long ties) {
+
+        public long rounds() {
+            return wins + losses + ties;
+        }
+    }
+
+    private OutcomeScorer() {
+    }
+
+    /*
+     * Return true when columns are scored with the Vector API.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public static Counts score(byte[] playerMoves, byte[] computerMoves) {
+        return score(playerMoves, computerMoves, null);
+    }
+
+    /*
+     * Score every round of the columns. When outcomes is not null, the outcome of each round is written to it.
+     */
+    public static Counts score(byte[] playerMoves, byte[] computerMoves, byte[] outcomes) {
+        return score(playerMoves, computerMoves, outcomes, 0, playerMoves.length);
+    }
+
+    /*
+     * Score the rounds from (inclusive) to (exclusive), writing outcomes at the same index when outcomes is not null.
+     */
+    public static Counts score(byte[] playerMoves, byte[] computerMoves, byte[] outcomes, int from, int to) {
+        check(playerMoves, computerMoves, outcomes, from, to);
+        return VECTORIZED
+                ? VectorOutcomeScorer.score(playerMoves, computerMoves, outcomes, from, to)
+                : scoreScalar(playerMoves, computerMoves, outcomes, from, to);
+    }
+
+    /*
+     * Score the rounds one at a time, whether the Vector API is present or not.
+     */
+    public static Counts scoreScalar(byte[] playerMoves, byte[] computerMoves, byte[] outcomes, int from, int to) {
+        check(playerMoves, computerMoves, outcomes, from, to);
+        long wins = 0;
+        long losses = 0;
+        for (int i = from; i < to; i++) {
+            int outcome = playerMoves[i] - computerMoves[i];
+            outcome += outcome >> 31 & 3;
+            wins += outcome & 1;
+            losses += outcome >> 1;
+            if (outcomes != null)
+                outcomes[i] = (byte) outcome;
+        }
+        return new Counts(wins, losses, to - from - wins - losses);
+    }
+
+    private static void check(byte[] playerMoves, byte[] computerMoves, byte[] outcomes, int from, int to) {
+        if (from < 0 || from > to || to > playerMoves.length || to > computerMoves.length || outcomes != null && to > outcomes.length)
+            throw new IndexOutOfBoundsException("Rounds " + from + " to " + to + " are not in every column.");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.project_2_lansing;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Computer that learns the player's habits. It keeps Markov counts of which move followed each of
+ * the player's last one, two and three moves, predicts the next move from the longest context it has
+ * seen before and plays whatever beats it under its ruleset.
+ * All counts live in one fixed-size int table and the last moves are packed into one int, so
+ * learning and predicting take the same few steps no matter how long the game runs. The constants
+ * below lay the table out for the classic three moves, other rulesets get a table of their size.
+ */
+public class PatternOpponent implements Opponent {
+
+    // Longest run of the player's moves used as context
+    static final int MAX_ORDER = 3;
+    // Start of each order's counts in the table, order k has 3^k contexts of 3 counts
+    static final int[] OFFSET = { 0, 3, 12, 39 };
+    static final int[] CONTEXTS = { 1, 3, 9, 27 };
+    static final int TABLE_SIZE = 120;
+    // Counts of a context are halved when one reaches this, so old habits fade out
+    static final int COUNT_LIMIT = 64;
+    // Share of rounds played at random so the computer cannot be farmed
+    static final double EXPLORE = 0.05;
+
+    private final Ruleset ruleset;
+    private final int moves;
+    private final int[] offset;
+    private final int[] contexts;
+    private final int[] counts;
+    // The player's last moves in base moves, the latest move is the lowest digit
+    private int history = 0;
+    private int seen = 0;
+
+    public PatternOpponent() {
+        this(Ruleset.CLASSIC);
+    }
+
+    public PatternOpponent(Ruleset ruleset) {
+        this.ruleset = ruleset;
+        this.moves = ruleset.size();
+        if (moves == 3) {
+            offset = OFFSET;
+            contexts = CONTEXTS;
+            counts = new int[TABLE_SIZE];
+        }
+        else {
+            offset = new int[MAX_ORDER + 1];
+            contexts = new int[MAX_ORDER + 1];
+            contexts[0] = 1;
+            for (int order = 1; order <= MAX_ORDER; order++) {
+                contexts[order] = contexts[order - 1] * moves;
+                offset[order] = offset[order - 1] + contexts[order - 1] * moves;
+            }
+            counts = new int[offset[MAX_ORDER] + contexts[MAX_ORDER] * moves];
+        }
+    }
+
+    @Override
+    public int chooseMove(int playerChoice, RandomGenerator rand) {
+        if (rand.nextDouble() < EXPLORE)
+            return rand.nextInt(moves);
+
+        return ruleset.losesTo(predict(rand));
+    }
+
+    /*
+     * Return the player's most likely next move according to the longest known context.
+     */
+    public int predict(RandomGenerator rand) {
+        for (int order = seen; order >= 0; order--) {
+            int base = offset[order] + (history % contexts[order]) * moves;
+            for (int move = 0; move < moves; move++) {
+                if (counts[base + move] > 0)
+                    return mostLikely(base, rand);
+            }
+        }
+        return rand.nextInt(moves);
+    }
+
+    /*
+     * Return the move with the highest count in a context, breaking ties at random.
+     */
+    private int mostLikely(int base, RandomGenerator rand) {
+        int best = 0;
+        int bestCount = counts[base];
+        int ties = 1;
+        for (int move = 1; move < moves; move++) {
+            int count = counts[base + move];
+            if (count > bestCount) {
+                best = move;
+                bestCount = count;
+                ties = 1;
+            }
+            else if (count == bestCount && rand.nextInt(++ties) == 0)
+                best = move;
+        }
+        return best;
+    }
+
+    @Override
+    public void observe(int playerChoice) {
+        for (int order = 0; order <= seen; order++) {
+            int base = offset[order] + (history % contexts[order]) * moves;
+            if (++counts[base + playerChoice] >= COUNT_LIMIT) {
+                for (int move = 0; move < moves; move++)
+                    counts[base + move] >>= 1;
+            }
+        }
+        history = (history * moves + playerChoice) % contexts[MAX_ORDER];
+        if (seen < MAX_ORDER)
+            seen++;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(counts, 0);
+        history = 0;
+        seen = 0;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.project_2_lansing;
+
+/**
+ * A player's lifetime record: wins, losses, ties and the longest win and loss streaks of any game at
+ * every difficulty, and the longest streaks at any difficulty. Profiles are kept by a ProfileStore,
+ * which hands out copies.
+ */
+public class PlayerProfile {
+
+    private final String name;
+    private final long[] wins = new long[Difficulty.values().length];
+    private final long[] losses = new long[Difficulty.values().length];
+    private final long[] ties = new long[Difficulty.values().length];
+    private final int[] longestWinStreaks = new int[Difficulty.values().length];
+    private final int[] longestLossStreaks = new int[Difficulty.values().length];
+    // At any difficulty, which includes streaks saved before they were kept per difficulty
+    private int longestWinStreak = 0;
+    private int longestLossStreak = 0;
+
+    public PlayerProfile(String name) {
+        this.name = name;
+    }
+
+    /*
+     * Return a copy that does not change when this profile does.
+     */
+    public PlayerProfile copy() {
+        PlayerProfile copy = new PlayerProfile(name);
+        System.arraycopy(wins, 0, copy.wins, 0, wins.length);
+        System.arraycopy(losses, 0, copy.losses, 0, losses.length);
+        System.arraycopy(ties, 0, copy.ties, 0, ties.length);
+        System.arraycopy(longestWinStreaks, 0, copy.longestWinStreaks, 0, longestWinStreaks.length);
+        System.arraycopy(longestLossStreaks, 0, copy.longestLossStreaks, 0, longestLossStreaks.length);
+        copy.longestWinStreak = longestWinStreak;
+        copy.longestLossStreak = longestLossStreak;
+        return copy;
+    }
+
+    /*
+     * Add a finished game at a difficulty.
+     */
+    void addGame(Difficulty difficulty, long gameWins, long gameLosses, long gameTies, int winStreak, int lossStreak) {
+        wins[difficulty.ordinal()] += gameWins;
+        losses[difficulty.ordinal()] += gameLosses;
+        ties[difficulty.ordinal()] += gameTies;
+        longestWinStreaks[difficulty.ordinal()] = Math.max(longestWinStreaks[difficulty.ordinal()], winStreak);
+        longestLossStreaks[difficulty.ordinal()] = Math.max(longestLossStreaks[difficulty.ordinal()], lossStreak);
+        longestWinStreak = Math.max(longestWinStreak, winStreak);
+        longestLossStreak = Math.max(longestLossStreak, lossStreak);
+    }
+
+    /*
+     * Set the record at a difficulty, used when a profile is read back from disk.
+     */
+    void set(Difficulty difficulty, long wins, long losses, long ties) {
+        this.wins[difficulty.ordinal()] = wins;
+        this.losses[difficulty.ordinal()] = losses;
+        this.ties[difficulty.ordinal()] = ties;
+    }
+
+    /*
+     * Set the longest streaks at a difficulty, used when a profile is read back from disk.
+     */
+    void setStreaks(Difficulty difficulty, int longestWinStreak, int longestLossStreak) {
+        longestWinStreaks[difficulty.ordinal()] = longestWinStreak;
+        longestLossStreaks[difficulty.ordinal()] = longestLossStreak;
+    }
+
+    /*
+     * Set the longest streaks at any difficulty, used when a profile is read back from disk.
+     */
+    void setStreaks(int longestWinStreak, int longestLossStreak) {
+        this.longestWinStreak = longestWinStreak;
+        this.longestLossStreak = longestLossStreak;
+    }
+
+    /*
+     * Return the share of rounds won at a difficulty, or 0 before the first round.
+     */
+    public double winRate(Difficulty difficulty) {
+        long rounds = getRounds(difficulty);
+        return rounds == 0 ? 0 : (double) getWins(difficulty) / rounds;
+    }
+
+    public long getRounds(Difficulty difficulty) {
+        return getWins(difficulty) + getLosses(difficulty) + getTies(difficulty);
+    }
+
+    public long getWins(Difficulty difficulty) {
+        return wins[difficulty.ordinal()];
+    }
+
+    public long getLosses(Difficulty difficulty) {
+        return losses[difficulty.ordinal()];
+    }
+
+    public long getTies(Difficulty difficulty) {
+        return ties[difficulty.ordinal()];
+    }
+
+    public long getLifetimeWins() {
+        long total = 0;
+        for (long count : wins)
+            total += count;
+        return total;
+    }
+
+    public long getLifetimeLosses() {
+        long total = 0;
+        for (long count : losses)
+            total += count;
+        return total;
+    }
+
+    public long getLifetimeTies() {
+        long total = 0;
+        for (long count : ties)
+            total += count;
+        return total;
+    }
+
+    public int getLongestWinStreak(Difficulty difficulty) {
+        return longestWinStreaks[difficulty.ordinal()];
+    }
+
+    public int getLongestLossStreak(Difficulty difficulty) {
+        return longestLossStreaks[difficulty.ordinal()];
+    }
+
+    /*
+     * Return the longest win streak at any difficulty.
+     */
+    public int getLongestWinStreak() {
+        return longestWinStreak;
+    }
+
+    /*
+     * Return the longest loss streak at any difficulty.
+     */
+    public int getLongestLossStreak() {
+        return longestLossStreak;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
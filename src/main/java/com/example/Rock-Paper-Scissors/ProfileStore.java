@@ -0,0 +1,371 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * On-disk store of player profiles. Every profile is a fixed-width record at a slot of the file, found
+ * through an in-memory index from name to slot, and recently used profiles are kept in an LRU cache
+ * so they are not read back from disk. Updates are written through to their slot straight away.
+ * For every difficulty a sorted index of players by win rate is kept up to date as games are added,
+ * so leaderboards are read off the front of the index instead of scanning all profiles.
+ *
+ * The file starts with a header of MAGIC, VERSION and RECORD_SIZE, followed by records of:
+ * name length (one byte) and up to NAME_BYTES - 1 bytes of UTF-8 name, then wins, losses and ties
+ * (longs) for every difficulty in ordinal order, then the longest win and loss streaks at any difficulty
+ * (ints), then the longest win and loss streaks (ints) for every difficulty in ordinal order.
+ * Everything is little endian. A store of VERSION 1, which had no streaks per difficulty, is upgraded
+ * when it is opened and keeps its streaks as the streaks at any difficulty.
+ * Print a leaderboard with:
+ * java -cp target/classes com.example.project_2_lansing.ProfileStore path/to/profiles.db [difficulty] [count]
+ */
+public class ProfileStore implements AutoCloseable {
+
+    public static final long MAGIC = 0x5246504C535052L; // "RPSPLFR"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 16;
+    public static final int NAME_BYTES = 48;
+    static final int V1_RECORD_SIZE = NAME_BYTES + Difficulty.values().length * 3 * Long.BYTES + 2 * Integer.BYTES;
+    public static final int RECORD_SIZE = V1_RECORD_SIZE + Difficulty.values().length * 2 * Integer.BYTES;
+    // The profile games without a player's name are added up in, left out of the leaderboards
+    public static final String ANONYMOUS = "";
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    // Players need this many rounds at a difficulty before they show up on its leaderboard
+    public static final int LEADERBOARD_MIN_ROUNDS = 10;
+
+    // Records read at a time while building the indexes
+    private static final int SCAN_RECORDS = 4096;
+
+    // Best win rate first, then the most rounds, then whoever joined the store first
+    private static final Comparator<Rank> RANKING = (a, b) -> {
+        int order = Double.compare(b.winRate, a.winRate);
+        if (order == 0)
+            order = Long.compare(b.rounds, a.rounds);
+        return order != 0 ? order : Integer.compare(a.slot, b.slot);
+    };
+
+    private final FileChannel channel;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, PlayerProfile> cache;
+    private final List<TreeSet<Rank>> leaderboards = new ArrayList<>();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /*
+     * One row of a leaderboard.
+     */
+    public record LeaderboardEntry(String name, double winRate, long rounds) {
+    }
+
+    /*
+     * A player's place in the index of a difficulty. Ranks are compared without touching the name.
+     */
+    private record Rank(String name, int slot, double winRate, long rounds) {
+    }
+
+    public ProfileStore(Path path) throws IOException {
+        this(path, DEFAULT_CACHE_SIZE);
+    }
+
+    /*
+     * Open a store, creating it with a header when it does not exist yet, and build its indexes.
+     * A header that was cut short is written again, any other file that is not a store is refused with
+     * an IOException. Up to cacheSize profiles are kept in memory.
+     */
+    public ProfileStore(Path path, int cacheSize) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        upgrade(path);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PlayerProfile> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        for (int i = 0; i < Difficulty.values().length; i++)
+            leaderboards.add(new TreeSet<>(RANKING));
+
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            // a new store, or one whose header was cut short before it held a profile
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+            ByteBuffer found = ByteBuffer.allocate((int) size);
+            while (found.hasRemaining()) {
+                if (channel.read(found, found.position()) < 0)
+                    break;
+            }
+            found.flip();
+            if (!found.equals(header.slice(0, found.limit()))) {
+                channel.close();
+                throw new IOException(path + " is not a profile store.");
+            }
+            channel.truncate(0);
+            channel.write(header, 0);
+        }
+        else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getLong() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD_SIZE) {
+                channel.close();
+                throw new IOException(path + " is not a profile store.");
+            }
+            buildIndexes();
+        }
+    }
+
+    /*
+     * Rewrite a store of VERSION 1 in the current format, with no streaks per difficulty yet. The new
+     * file replaces the old one only once it is complete.
+     */
+    private static void upgrade(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < HEADER_SIZE)
+            return;
+        Path upgraded = path.resolveSibling(path.getFileName() + ".upgrade");
+        try (FileChannel old = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            old.read(header, 0);
+            header.flip();
+            if (header.getLong() != MAGIC || header.getInt() != 1 || header.getInt() != V1_RECORD_SIZE)
+                return;
+
+            try (FileChannel out = FileChannel.open(upgraded, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                header.clear();
+                header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+                out.write(header);
+                long count = (old.size() - HEADER_SIZE) / V1_RECORD_SIZE;
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+                for (long i = 0; i < count; i++) {
+                    record.clear().limit(V1_RECORD_SIZE);
+                    while (record.hasRemaining()) {
+                        if (old.read(record, HEADER_SIZE + i * V1_RECORD_SIZE + record.position()) < 0)
+                            throw new IOException("The profile store ended early.");
+                    }
+                    record.limit(RECORD_SIZE);
+                    record.put(new byte[RECORD_SIZE - V1_RECORD_SIZE]).flip();
+                    while (record.hasRemaining())
+                        out.write(record);
+                }
+                out.force(false);
+            }
+        }
+        Files.move(upgraded, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Read every record once to fill the name index and the leaderboards.
+     */
+    private void buildIndexes() throws IOException {
+        // a profile that was only half written when the game stopped is left out
+        long count = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        List<List<Rank>> ranks = new ArrayList<>();
+        for (int i = 0; i < Difficulty.values().length; i++)
+            ranks.add(new ArrayList<>());
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (long first = 0; first < count; first += SCAN_RECORDS) {
+            int records = (int) Math.min(SCAN_RECORDS, count - first);
+            buffer.clear().limit(records * RECORD_SIZE);
+            long position = HEADER_SIZE + first * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0)
+                    throw new IOException("The profile store ended early.");
+            }
+            for (int i = 0; i < records; i++) {
+                buffer.position(i * RECORD_SIZE);
+                PlayerProfile profile = readProfile(buffer);
+                int slot = (int) (first + i);
+                slots.put(profile.getName(), slot);
+                for (Difficulty difficulty : Difficulty.values()) {
+                    if (isRanked(profile, difficulty))
+                        ranks.get(difficulty.ordinal()).add(new Rank(profile.getName(), slot, profile.winRate(difficulty), profile.getRounds(difficulty)));
+                }
+            }
+        }
+
+        // Sorted entries always go down the same edge of the tree, which stays in the cache, so this
+        // is much faster than adding them in file order
+        for (int i = 0; i < ranks.size(); i++) {
+            ranks.get(i).sort(RANKING);
+            leaderboards.get(i).addAll(ranks.get(i));
+        }
+    }
+
+    /*
+     * Add a finished game to a player's profile, creating the profile for a new player.
+     */
+    public synchronized void recordGame(String name, Difficulty difficulty, long wins, long losses, long ties,
+                                        int longestWinStreak, int longestLossStreak) throws IOException {
+        String key = key(name);
+        PlayerProfile profile = load(key);
+        Integer slot = slots.get(key);
+        if (profile == null) {
+            profile = new PlayerProfile(key);
+            slot = slots.size();
+        }
+
+        removeRank(profile, slot, difficulty);
+        profile.addGame(difficulty, wins, losses, ties, longestWinStreak, longestLossStreak);
+        addRank(profile, slot, difficulty);
+
+        record.clear();
+        writeProfile(profile, record);
+        record.flip();
+        long position = HEADER_SIZE + (long) slot * RECORD_SIZE;
+        while (record.hasRemaining())
+            channel.write(record, position + record.position());
+        slots.put(key, slot);
+        cache.put(key, profile);
+    }
+
+    /*
+     * Return a copy of a player's profile, or null for a player who has not finished a game.
+     */
+    public synchronized PlayerProfile get(String name) throws IOException {
+        PlayerProfile profile = load(key(name));
+        return profile == null ? null : profile.copy();
+    }
+
+    /*
+     * Return the best players at a difficulty by win rate, at most count of them.
+     */
+    public synchronized List<LeaderboardEntry> leaderboard(Difficulty difficulty, int count) {
+        List<LeaderboardEntry> top = new ArrayList<>(count);
+        for (Rank rank : leaderboards.get(difficulty.ordinal())) {
+            if (top.size() == count)
+                break;
+            top.add(new LeaderboardEntry(rank.name(), rank.winRate(), rank.rounds()));
+        }
+        return top;
+    }
+
+    /*
+     * Return the number of players in the store.
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /*
+     * Find a profile in the cache or read it from its slot.
+     */
+    private PlayerProfile load(String key) throws IOException {
+        PlayerProfile profile = cache.get(key);
+        if (profile != null)
+            return profile;
+        Integer slot = slots.get(key);
+        if (slot == null)
+            return null;
+
+        record.clear();
+        long position = HEADER_SIZE + (long) slot * RECORD_SIZE;
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0)
+                throw new IOException("The profile of " + key + " is cut short.");
+        }
+        record.flip();
+        profile = readProfile(record);
+        cache.put(key, profile);
+        return profile;
+    }
+
+    private static PlayerProfile readProfile(ByteBuffer buffer) {
+        int start = buffer.position();
+        byte[] name = new byte[buffer.get() & 0xFF];
+        buffer.get(name);
+        buffer.position(start + NAME_BYTES);
+        PlayerProfile profile = new PlayerProfile(new String(name, StandardCharsets.UTF_8));
+        for (Difficulty difficulty : Difficulty.values())
+            profile.set(difficulty, buffer.getLong(), buffer.getLong(), buffer.getLong());
+        profile.setStreaks(buffer.getInt(), buffer.getInt());
+        for (Difficulty difficulty : Difficulty.values())
+            profile.setStreaks(difficulty, buffer.getInt(), buffer.getInt());
+        return profile;
+    }
+
+    private static void writeProfile(PlayerProfile profile, ByteBuffer buffer) {
+        byte[] name = profile.getName().getBytes(StandardCharsets.UTF_8);
+        buffer.put((byte) name.length).put(name).put(new byte[NAME_BYTES - 1 - name.length]);
+        for (Difficulty difficulty : Difficulty.values())
+            buffer.putLong(profile.getWins(difficulty)).putLong(profile.getLosses(difficulty)).putLong(profile.getTies(difficulty));
+        buffer.putInt(profile.getLongestWinStreak()).putInt(profile.getLongestLossStreak());
+        for (Difficulty difficulty : Difficulty.values())
+            buffer.putInt(profile.getLongestWinStreak(difficulty)).putInt(profile.getLongestLossStreak(difficulty));
+    }
+
+    private void addRank(PlayerProfile profile, int slot, Difficulty difficulty) {
+        if (isRanked(profile, difficulty))
+            leaderboards.get(difficulty.ordinal()).add(new Rank(profile.getName(), slot, profile.winRate(difficulty), profile.getRounds(difficulty)));
+    }
+
+    private void removeRank(PlayerProfile profile, int slot, Difficulty difficulty) {
+        if (isRanked(profile, difficulty))
+            leaderboards.get(difficulty.ordinal()).remove(new Rank(profile.getName(), slot, profile.winRate(difficulty), profile.getRounds(difficulty)));
+    }
+
+    /*
+     * Return whether a profile has played enough at a difficulty to be on its leaderboard. The anonymous
+     * profile never is.
+     */
+    private static boolean isRanked(PlayerProfile profile, Difficulty difficulty) {
+        return profile.getRounds(difficulty) >= LEADERBOARD_MIN_ROUNDS && !profile.getName().equals(ANONYMOUS);
+    }
+
+    /*
+     * Return the name a player is stored under: trimmed and cut to fit in a record without splitting a character.
+     */
+    static String key(String name) {
+        String key = name.strip();
+        while (key.getBytes(StandardCharsets.UTF_8).length > NAME_BYTES - 1)
+            key = key.substring(0, key.offsetByCodePoints(0, key.codePointCount(0, key.length()) - 1));
+        return key;
+    }
+
+    /*
+     * Make sure every update so far is on disk.
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Difficulty difficulty = args.length > 1 ? Difficulty.valueOf(args[1].toUpperCase(Locale.ROOT)) : Difficulty.NORMAL;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long start = System.nanoTime();
+        try (ProfileStore store = new ProfileStore(Path.of(args[0]))) {
+            System.out.printf("%,d profiles indexed in %.3f s%n", store.size(), (System.nanoTime() - start) / 1e9);
+            List<LeaderboardEntry> top = store.leaderboard(difficulty, count);
+            System.out.println("Leaderboard for " + difficulty.getLabel());
+            for (int place = 0; place < top.size(); place++) {
+                LeaderboardEntry entry = top.get(place);
+                System.out.printf("%2d. %-48s %6.2f%% of %,d rounds%n", place + 1, entry.name(), entry.winRate() * 100, entry.rounds());
+            }
+        }
+    }
+}
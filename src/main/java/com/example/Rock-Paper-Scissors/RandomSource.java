@@ -0,0 +1,106 @@
+package com.example.project_2_lansing;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Hands out random generators for games and worker threads. A source created with a seed always
+ * hands out the same sequence of game seeds, so whole runs can be replayed. Every game gets its own
+ * generator and workers split off independent streams, so nothing is shared between threads after
+ * the hand-out.
+ */
+public class RandomSource {
+
+    public static final String DEFAULT_ALGORITHM = "SplittableRandom";
+
+    private static final RandomSource DEFAULT = new RandomSource();
+
+    private final long seed;
+    private final String algorithm;
+    private final RandomGeneratorFactory<RandomGenerator.SplittableGenerator> factory;
+    private final RandomGenerator.SplittableGenerator root;
+
+    /*
+     * Make a source with a seed nobody picked.
+     */
+    public RandomSource() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /*
+     * Make a source that can be replayed from the given seed.
+     */
+    public RandomSource(long seed) {
+        this(DEFAULT_ALGORITHM, seed);
+    }
+
+    /*
+     * Make a source backed by any splittable algorithm of the RandomGenerator family, such as L64X128MixRandom.
+     */
+    public RandomSource(String algorithm, long seed) {
+        this.algorithm = algorithm;
+        this.factory = RandomGeneratorFactory.of(algorithm);
+        if (!factory.isSplittable())
+            throw new IllegalArgumentException(algorithm + " is not a splittable generator.");
+        this.seed = seed;
+        this.root = factory.create(seed);
+    }
+
+    /*
+     * Return the source shared by everything that does not need to be replayed.
+     */
+    public static RandomSource getDefault() {
+        return DEFAULT;
+    }
+
+    /*
+     * Return the generator a source of the given algorithm makes for the game that was given this seed.
+     */
+    public static RandomGenerator generator(String algorithm, long gameSeed) {
+        return RandomGeneratorFactory.of(algorithm).create(gameSeed);
+    }
+
+    /*
+     * Return the name of the algorithm behind this source's generators.
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /*
+     * Return the seed this source was created with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /*
+     * Return the seed for the next game. Record it to replay that game with newGenerator(long).
+     */
+    public synchronized long nextSeed() {
+        return root.nextLong();
+    }
+
+    /*
+     * Return a generator for a new game.
+     */
+    public RandomGenerator newGenerator() {
+        return newGenerator(nextSeed());
+    }
+
+    /*
+     * Return the generator of the game that was given this seed.
+     */
+    public RandomGenerator newGenerator(long gameSeed) {
+        return factory.create(gameSeed);
+    }
+
+    /*
+     * Split off an independent stream for a worker thread. The worker can keep splitting its own
+     * stream without going back to this source.
+     */
+    public synchronized RandomGenerator.SplittableGenerator split() {
+        return root.split();
+    }
+}
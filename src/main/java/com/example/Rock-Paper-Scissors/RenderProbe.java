@@ -0,0 +1,70 @@
+package com.example.project_2_lansing;
+
+import javafx.animation.AnimationTimer;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures what a round costs the FX thread: bytes it allocated from the click until the animation
+ * finished, and how evenly frames arrived meanwhile (mean, standard deviation and worst gap between pulses).
+ * Create and use it on the FX thread. Launch the application with --probe to print one line per round.
+ */
+public class RenderProbe {
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long fxThreadId = Thread.currentThread().getId();
+
+    private long roundStartBytes;
+    private long lastFrame;
+    private long frames;
+    private double frameSum;
+    private double frameSquareSum;
+    private long worstFrame;
+
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (lastFrame != 0) {
+                long gap = now - lastFrame;
+                frames++;
+                frameSum += gap;
+                frameSquareSum += (double) gap * gap;
+                worstFrame = Math.max(worstFrame, gap);
+            }
+            lastFrame = now;
+        }
+    };
+
+    /*
+     * Start watching pulses.
+     */
+    public void start() {
+        frameTimer.start();
+    }
+
+    public void stop() {
+        frameTimer.stop();
+    }
+
+    /*
+     * Mark the start of a round.
+     */
+    public void roundStarted() {
+        roundStartBytes = threads.getThreadAllocatedBytes(fxThreadId);
+        frames = 0;
+        frameSum = 0;
+        frameSquareSum = 0;
+        worstFrame = 0;
+    }
+
+    /*
+     * Print what the round cost since roundStarted.
+     */
+    public void roundFinished(int round) {
+        long allocated = threads.getThreadAllocatedBytes(fxThreadId) - roundStartBytes;
+        double mean = frames == 0 ? 0 : frameSum / frames;
+        double deviation = frames == 0 ? 0 : Math.sqrt(Math.max(0, frameSquareSum / frames - mean * mean));
+        System.out.printf("round %d: %,d bytes allocated, %d frames, mean %.2f ms, jitter %.2f ms, worst %.2f ms%n",
+                round, allocated, frames, mean / 1e6, deviation / 1e6, worstFrame / 1e6);
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.project_2_lansing;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless rock paper scissors engine. Resolves rounds from primitive move codes against an
+ * Opponent strategy and keeps the running score, without touching JavaFX.
+ * Moves are rock (0), paper (1) and scissors (2) unless another Ruleset is set. Outcomes are from the player's side.
+ */
+public class RoundEngine {
+
+    public static final int ROCK = 0;
+    public static final int PAPER = 1;
+    public static final int SCISSORS = 2;
+
+    public static final byte TIE = 0;
+    public static final byte WIN = 1;
+    public static final byte LOSS = 2;
+
+    private RandomGenerator rand;
+    private Opponent opponent;
+    private Ruleset ruleset = Ruleset.CLASSIC;
+    // Live statistics of this game, or null when nobody is watching
+    private GameStats stats;
+    // Streaks, transitions and rolling win rate of this game, or null when nobody is watching
+    private SessionAnalytics analytics;
+    private int wins = 0;
+    private int losses = 0;
+    private int ties = 0;
+    private int currentRound = 1;
+    private int roundsToPlay = 0;
+    // Where the game's events go, or null when nobody subscribes. The event is filled in place and copied out.
+    private EventDispatcher events;
+    private GameEvent event;
+    private long sessionId;
+    private Difficulty difficulty = Difficulty.NORMAL;
+    // Counts of the batch being played, kept so batches do not allocate
+    private final int[] outcomeCounts = new int[3];
+    private int[] playerMoveCounts = new int[Ruleset.CLASSIC.size()];
+    private int[] computerMoveCounts = new int[Ruleset.CLASSIC.size()];
+
+    public RoundEngine() {
+        this(RandomSource.getDefault().newGenerator());
+    }
+
+    public RoundEngine(RandomGenerator rand) {
+        this(rand, Difficulty.NORMAL.newOpponent());
+    }
+
+    public RoundEngine(RandomGenerator rand, Opponent opponent) {
+        this.rand = rand;
+        this.opponent = opponent;
+    }
+
+    /*
+     * Return the outcome of a round of the classic game for the player.
+     */
+    public static byte outcome(int playerChoice, int computerChoice) {
+        return Ruleset.CLASSIC.outcome(playerChoice, computerChoice);
+    }
+
+    /*
+     * Let the opponent choose the computer's move for the player's choice.
+     */
+    public int computerChoice(int playerChoice) {
+        return opponent.chooseMove(playerChoice, rand);
+    }
+
+    /*
+     * Play one round against the computer, update the score and return the computer's choice.
+     */
+    public int playRound(int playerChoice) {
+        long start = events != null && GameMetrics.enabled() ? System.nanoTime() : 0;
+        int computerChoice = opponent.chooseMove(playerChoice, rand);
+        opponent.observe(playerChoice);
+        byte result = ruleset.outcome(playerChoice, computerChoice);
+        record(result);
+        if (stats != null)
+            stats.record(playerChoice, computerChoice, result);
+        if (analytics != null)
+            analytics.record(playerChoice, result);
+        if (events != null)
+            publishRound(currentRound - 1, playerChoice, computerChoice, result, start != 0 ? System.nanoTime() - start : 0);
+        return computerChoice;
+    }
+
+    /*
+     * Play a whole batch of rounds. The computer's choices and the outcomes are written to the
+     * matching index of the output arrays; either output may be null when it is not needed.
+     */
+    public void playRounds(int[] playerMoves, int[] computerMoves, byte[] outcomes) {
+        playRounds(playerMoves, playerMoves.length, computerMoves, outcomes);
+    }
+
+    /*
+     * Play the first count moves of a batch, for batches that are only partly filled.
+     */
+    public void playRounds(int[] playerMoves, int count, int[] computerMoves, byte[] outcomes) {
+        long start = events != null && GameMetrics.enabled() ? System.nanoTime() : 0;
+        int firstRound = currentRound;
+        Arrays.fill(outcomeCounts, 0);
+        Arrays.fill(playerMoveCounts, 0);
+        Arrays.fill(computerMoveCounts, 0);
+        for (int i = 0; i < count; i++) {
+            int playerChoice = playerMoves[i];
+            int computerChoice = opponent.chooseMove(playerChoice, rand);
+            opponent.observe(playerChoice);
+            byte result = ruleset.outcome(playerChoice, computerChoice);
+            outcomeCounts[result]++;
+            playerMoveCounts[playerChoice]++;
+            computerMoveCounts[computerChoice]++;
+            if (computerMoves != null)
+                computerMoves[i] = computerChoice;
+            if (outcomes != null)
+                outcomes[i] = result;
+            if (analytics != null)
+                analytics.record(playerChoice, result);
+            if (events != null) {
+                // Rounds of a batch are timed together, each is published at its share of the batch
+                publishRound(firstRound + i, playerChoice, computerChoice, result, start != 0 ? (System.nanoTime() - start) / (i + 1) : 0);
+            }
+        }
+        wins += outcomeCounts[WIN];
+        losses += outcomeCounts[LOSS];
+        ties += outcomeCounts[TIE];
+        currentRound += count;
+        if (stats != null)
+            stats.recordAll(outcomeCounts, playerMoveCounts, computerMoveCounts);
+        if (events != null && firstRound <= roundsToPlay && isGameOver())
+            publishGameOver();
+    }
+
+    /*
+     * Publish a round that was played, and the end of the game when it was the last round.
+     */
+    private void publishRound(int round, int playerChoice, int computerChoice, byte result, long nanos) {
+        event.roundPlayed(sessionId, round, playerChoice, computerChoice, result, difficulty, nanos);
+        events.publish(event);
+        if (round == roundsToPlay && currentRound > round)
+            publishGameOver();
+    }
+
+    private void publishGameOver() {
+        event.gameOver(sessionId, wins, losses, ties, analytics != null ? analytics.getLongestWinStreak() : 0,
+                analytics != null ? analytics.getLongestLossStreak() : 0, difficulty);
+        events.publish(event);
+    }
+
+    /*
+     * Add a finished round to the score.
+     */
+    private void record(byte result) {
+        if (result == WIN)
+            wins++;
+        else if (result == LOSS)
+            losses++;
+        else
+            ties++;
+        currentRound++;
+    }
+
+    /*
+     * Set the score back to initial values and let the opponent forget the player's habits.
+     * The difficulty and number of rounds are kept.
+     */
+    public void reset() {
+        opponent.reset();
+        if (stats != null)
+            stats.reset();
+        if (analytics != null)
+            analytics.reset();
+        wins = 0;
+        losses = 0;
+        ties = 0;
+        currentRound = 1;
+        if (events != null) {
+            event.reset(sessionId);
+            events.publish(event);
+        }
+    }
+
+    /*
+     * Return true once every round of the game has been played.
+     */
+    public boolean isGameOver() {
+        return currentRound > roundsToPlay;
+    }
+
+    /*
+     * Draw the computer's choices and bias rolls from another generator, for example a freshly seeded one for a new game.
+     */
+    public void setRandom(RandomGenerator rand) {
+        this.rand = rand;
+    }
+
+    /*
+     * Play against the original biased computer with the given chance to win. Events report the
+     * difficulty tier with the nearest chance to win.
+     */
+    public void setChanceToWin(double chanceToWin) {
+        this.opponent = new BiasedOpponent(chanceToWin, ruleset);
+        this.difficulty = Difficulty.nearest(chanceToWin);
+    }
+
+    /*
+     * Play against the computer of a difficulty tier.
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        this.opponent = difficulty.newOpponent(ruleset);
+        this.difficulty = difficulty;
+    }
+
+    /*
+     * Return the difficulty tier reported in events, normal unless one was set.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public Ruleset getRuleset() {
+        return ruleset;
+    }
+
+    /*
+     * Play by other rules. Set an opponent that knows them afterwards, with setDifficulty or setChanceToWin.
+     * Statistics and analytics count the three classic moves, so they can only be attached to classic games.
+     */
+    public void setRuleset(Ruleset ruleset) {
+        if (ruleset.size() != 3 && (stats != null || analytics != null))
+            throw new IllegalStateException("Statistics and analytics only count the classic moves.");
+        this.ruleset = ruleset;
+        if (playerMoveCounts.length != ruleset.size()) {
+            playerMoveCounts = new int[ruleset.size()];
+            computerMoveCounts = new int[ruleset.size()];
+        }
+    }
+
+    public GameStats getStats() {
+        return stats;
+    }
+
+    public void setStats(GameStats stats) {
+        if (stats != null && ruleset.size() != 3)
+            throw new IllegalStateException("Statistics only count the classic moves.");
+        this.stats = stats;
+    }
+
+    public SessionAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    public void setAnalytics(SessionAnalytics analytics) {
+        if (analytics != null && ruleset.size() != 3)
+            throw new IllegalStateException("Analytics only count the classic moves.");
+        this.analytics = analytics;
+    }
+
+    public EventDispatcher getEvents() {
+        return events;
+    }
+
+    /*
+     * Publish the game's rounds, its end and resets to a dispatcher, or stop publishing with null.
+     */
+    public void setEvents(EventDispatcher events) {
+        if (events != null && event == null)
+            event = new GameEvent();
+        this.events = events;
+    }
+
+    /*
+     * Publish a StreakReached event every time the player picks the move length times in a row.
+     * Needs analytics, which count the streaks.
+     */
+    public void publishMoveStreak(int move, int length) {
+        if (analytics == null)
+            throw new IllegalStateException("Streaks are counted by the analytics, set them first.");
+        analytics.onMoveStreak(move, length, (streakMove, streakLength) -> {
+            if (events != null) {
+                event.streakReached(sessionId, streakMove, streakLength);
+                events.publish(event);
+            }
+        });
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /*
+     * Set the session id that events of this game carry.
+     */
+    public void setSessionId(long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Opponent getOpponent() {
+        return opponent;
+    }
+
+    public void setOpponent(Opponent opponent) {
+        this.opponent = opponent;
+    }
+
+    public int getRoundsToPlay() {
+        return roundsToPlay;
+    }
+
+    public void setRoundsToPlay(int roundsToPlay) {
+        this.roundsToPlay = roundsToPlay;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getTies() {
+        return ties;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+}
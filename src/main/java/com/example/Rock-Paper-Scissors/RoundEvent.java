@@ -0,0 +1,42 @@
+package com.example.project_2_lansing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one round, committed by GameMetrics while metrics are on.
+ * Record it with -XX:StartFlightRecording and look for com.example.project_2_lansing.Round.
+ */
+@Name("com.example.project_2_lansing.Round")
+@Label("Round")
+@Category("Rock Paper Scissors")
+@Description("One round of rock, paper, scissors")
+class RoundEvent extends Event {
+
+    @Label("Session Id")
+    long sessionId;
+
+    @Label("Round")
+    int round;
+
+    @Label("Difficulty")
+    String difficulty;
+
+    @Label("Player Move")
+    int playerChoice;
+
+    @Label("Computer Move")
+    int computerChoice;
+
+    @Label("Outcome")
+    @Description("0 for a tie, 1 when the player won and 2 when the computer won")
+    int outcome;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+}
@@ -0,0 +1,93 @@
+package com.example.project_2_lansing;
+
+import java.util.List;
+
+/**
+ * The rules of a rock paper scissors variant with an odd number of moves, kept in precomputed byte
+ * tables so deciding a round is a single array load. Moves are numbered around a circle where every
+ * move beats the moves an odd number of steps behind it: with n moves, a beats b when (a - b) mod n
+ * is odd. That is the classic game for three moves, and Rock Paper Scissors Spock Lizard for five.
+ * Outcomes are RoundEngine.TIE, WIN and LOSS, from the side of the first move.
+ */
+public final class Ruleset {
+
+    public static final Ruleset CLASSIC = new Ruleset("Rock Paper Scissors", "Rock", "Paper", "Scissors");
+    public static final Ruleset LIZARD_SPOCK = new Ruleset("Rock Paper Scissors Spock Lizard", "Rock", "Paper", "Scissors", "Spock", "Lizard");
+
+    private final String name;
+    private final List<String> moves;
+    private final int size;
+    // outcomes[player * size + computer]
+    private final byte[] outcomes;
+    // beats[m] is a move that m beats, losesTo[m] a move that beats m
+    private final byte[] beats;
+    private final byte[] losesTo;
+
+    /*
+     * Make the rules for the given moves, in their order around the circle.
+     */
+    public Ruleset(String name, String... moves) {
+        if (moves.length < 3 || moves.length % 2 == 0 || moves.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("A ruleset needs an odd number of moves, at least 3.");
+        this.name = name;
+        this.moves = List.of(moves);
+        this.size = moves.length;
+        outcomes = new byte[size * size];
+        beats = new byte[size];
+        losesTo = new byte[size];
+        for (int player = 0; player < size; player++) {
+            for (int computer = 0; computer < size; computer++) {
+                int steps = Math.floorMod(player - computer, size);
+                outcomes[player * size + computer] = steps == 0 ? RoundEngine.TIE : steps % 2 == 1 ? RoundEngine.WIN : RoundEngine.LOSS;
+            }
+            // one step behind is always beaten, one step ahead always wins
+            beats[player] = (byte) Math.floorMod(player - 1, size);
+            losesTo[player] = (byte) ((player + 1) % size);
+        }
+    }
+
+    /*
+     * Return the outcome of a round for the player.
+     */
+    public byte outcome(int playerChoice, int computerChoice) {
+        return outcomes[playerChoice * size + computerChoice];
+    }
+
+    /*
+     * Return a move that the given move beats.
+     */
+    public int beats(int move) {
+        return beats[move];
+    }
+
+    /*
+     * Return a move that beats the given move.
+     */
+    public int losesTo(int move) {
+        return losesTo[move];
+    }
+
+    /*
+     * Return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    public String moveName(int move) {
+        return moves.get(move);
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless soak test. One thread streams a move script (repeated as often as asked) into a bounded
+ * MoveQueue while the main thread takes the moves out in batches and plays them through the engine.
+ * java -cp target/classes com.example.project_2_lansing.ScriptRunner moves.txt [--repeat=n] [--difficulty=HARD] [--batch=512] [--seed=n]
+ */
+public class ScriptRunner {
+
+    public static void main(String[] args) throws Exception {
+        Path script = null;
+        int repeat = 1;
+        int batchSize = 512;
+        Difficulty difficulty = Difficulty.NORMAL;
+        RandomSource randomSource = RandomSource.getDefault();
+        for (String arg : args) {
+            if (arg.startsWith("--repeat="))
+                repeat = Integer.parseInt(arg.substring("--repeat=".length()));
+            else if (arg.startsWith("--batch="))
+                batchSize = Integer.parseInt(arg.substring("--batch=".length()));
+            else if (arg.startsWith("--difficulty="))
+                difficulty = Difficulty.valueOf(arg.substring("--difficulty=".length()).toUpperCase(Locale.ROOT));
+            else if (arg.startsWith("--seed="))
+                randomSource = new RandomSource(Long.parseLong(arg.substring("--seed=".length())));
+            else
+                script = Path.of(arg);
+        }
+        if (script == null) {
+            System.err.println("Please give the move script to run.");
+            return;
+        }
+
+        MoveQueue queue = new MoveQueue(batchSize * 8);
+        Path moves = script;
+        int times = repeat;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < times; i++)
+                    MoveScript.feed(moves, queue);
+            }
+            catch (IOException ex) {
+                System.err.println(ex.getMessage());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "script-producer");
+        producer.start();
+
+        RoundEngine engine = new RoundEngine(randomSource.newGenerator(), difficulty.newOpponent());
+        engine.setRoundsToPlay(Integer.MAX_VALUE);
+        int[] batch = new int[batchSize];
+        byte[] outcomes = new byte[batchSize];
+        long rounds = 0;
+        long start = System.nanoTime();
+        while (producer.isAlive() || queue.size() > 0) {
+            int count = queue.drainTo(batch, batchSize, 10, TimeUnit.MILLISECONDS);
+            engine.playRounds(batch, count, null, outcomes);
+            rounds += count;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d moves in %.3f s (%,.0f moves/sec), wins %d, losses %d, ties %d%n",
+                rounds, seconds, rounds / seconds, engine.getWins(), engine.getLosses(), engine.getTies());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.project_2_lansing;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Computer that plays a fixed sequence of moves over and over, for tournaments and soak tests.
+ */
+public class ScriptedOpponent implements Opponent {
+
+    private final int[] moves;
+    private int next = 0;
+
+    public ScriptedOpponent(int... moves) {
+        if (moves.length == 0)
+            throw new IllegalArgumentException("A script needs at least one move.");
+        this.moves = moves.clone();
+    }
+
+    @Override
+    public int chooseMove(int playerChoice, RandomGenerator rand) {
+        int move = moves[next];
+        next = next + 1 == moves.length ? 0 : next + 1;
+        return move;
+    }
+
+    @Override
+    public void reset() {
+        next = 0;
+    }
+}
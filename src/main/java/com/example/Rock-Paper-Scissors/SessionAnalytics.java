@@ -0,0 +1,189 @@
+package com.example.project_2_lansing;
+
+import java.util.Arrays;
+
+/**
+ * Running analytics of one game, updated in constant time and without allocating on every round:
+ * how often the player picks each move, which move follows which, the current and longest win and
+ * loss streaks, the win rate over the last rounds and streak events for repeated moves (such as
+ * rock five times in a row).
+ * One thread records rounds. Other threads may read at any time and see the game as of a recent round.
+ */
+public class SessionAnalytics {
+
+    public static final int DEFAULT_WINDOW = 20;
+
+    /*
+     * Called when the player has picked the same move the given number of times in a row.
+     */
+    @FunctionalInterface
+    public interface StreakListener {
+        void streakReached(int move, int length);
+    }
+
+    private final long[] moveCounts = new long[3];
+    // transitions[previous * 3 + next] counts the player picking next right after previous
+    private final long[] transitions = new long[9];
+    private final byte[] window;
+
+    private int lastMove = -1;
+    private int moveRun = 0;
+    private int winStreak = 0;
+    private int lossStreak = 0;
+    private int longestWinStreak = 0;
+    private int longestLossStreak = 0;
+    private long rounds = 0;
+    private int windowWins = 0;
+    private int windowLosses = 0;
+
+    // Streak triggers, at most a handful so they are checked with a plain loop
+    private int[] streakMoves = new int[0];
+    private int[] streakLengths = new int[0];
+    private StreakListener[] streakListeners = new StreakListener[0];
+
+    // Written last on every round, so a reader that reads it first sees everything before it
+    private volatile long published;
+
+    public SessionAnalytics() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /*
+     * Make analytics whose rolling win rate covers the last windowSize rounds.
+     */
+    public SessionAnalytics(int windowSize) {
+        window = new byte[windowSize];
+    }
+
+    /*
+     * Call the listener every time the player picks the same move another length times in a row,
+     * that is after length, 2 * length, ... repeats.
+     */
+    public synchronized void onMoveStreak(int move, int length, StreakListener listener) {
+        int count = streakMoves.length;
+        streakMoves = Arrays.copyOf(streakMoves, count + 1);
+        streakLengths = Arrays.copyOf(streakLengths, count + 1);
+        streakListeners = Arrays.copyOf(streakListeners, count + 1);
+        streakMoves[count] = move;
+        streakLengths[count] = length;
+        streakListeners[count] = listener;
+    }
+
+    /*
+     * Add one round.
+     */
+    public void record(int playerChoice, byte outcome) {
+        moveCounts[playerChoice]++;
+        if (lastMove >= 0)
+            transitions[lastMove * 3 + playerChoice]++;
+        moveRun = playerChoice == lastMove ? moveRun + 1 : 1;
+        lastMove = playerChoice;
+
+        if (outcome == RoundEngine.WIN) {
+            winStreak++;
+            lossStreak = 0;
+            longestWinStreak = Math.max(longestWinStreak, winStreak);
+        }
+        else if (outcome == RoundEngine.LOSS) {
+            lossStreak++;
+            winStreak = 0;
+            longestLossStreak = Math.max(longestLossStreak, lossStreak);
+        }
+        else {
+            winStreak = 0;
+            lossStreak = 0;
+        }
+
+        // The oldest outcome in the window makes room for this one
+        int slot = (int) (rounds % window.length);
+        if (rounds >= window.length) {
+            if (window[slot] == RoundEngine.WIN)
+                windowWins--;
+            else if (window[slot] == RoundEngine.LOSS)
+                windowLosses--;
+        }
+        window[slot] = outcome;
+        if (outcome == RoundEngine.WIN)
+            windowWins++;
+        else if (outcome == RoundEngine.LOSS)
+            windowLosses++;
+        rounds++;
+        published = rounds;
+
+        for (int i = 0; i < streakMoves.length; i++) {
+            if (streakMoves[i] == playerChoice && moveRun % streakLengths[i] == 0)
+                streakListeners[i].streakReached(playerChoice, moveRun);
+        }
+    }
+
+    /*
+     * Start over for a new game. Streak listeners stay registered.
+     */
+    public void reset() {
+        Arrays.fill(moveCounts, 0);
+        Arrays.fill(transitions, 0);
+        lastMove = -1;
+        moveRun = 0;
+        winStreak = 0;
+        lossStreak = 0;
+        longestWinStreak = 0;
+        longestLossStreak = 0;
+        rounds = 0;
+        windowWins = 0;
+        windowLosses = 0;
+        published = 0;
+    }
+
+    public long getRounds() {
+        return published;
+    }
+
+    public long getMoveCount(int move) {
+        long ignored = published;
+        return moveCounts[move];
+    }
+
+    /*
+     * Return how often the player picked next right after previous.
+     */
+    public long getTransitionCount(int previous, int next) {
+        long ignored = published;
+        return transitions[previous * 3 + next];
+    }
+
+    public int getWinStreak() {
+        long ignored = published;
+        return winStreak;
+    }
+
+    public int getLossStreak() {
+        long ignored = published;
+        return lossStreak;
+    }
+
+    public int getLongestWinStreak() {
+        long ignored = published;
+        return longestWinStreak;
+    }
+
+    public int getLongestLossStreak() {
+        long ignored = published;
+        return longestLossStreak;
+    }
+
+    /*
+     * Return the share of the last rounds (up to the window size) the player won.
+     */
+    public double getWindowWinRate() {
+        long played = Math.min(published, window.length);
+        return played == 0 ? 0 : (double) windowWins / played;
+    }
+
+    /*
+     * Return the share of the last rounds (up to the window size) the player lost.
+     */
+    public double getWindowLossRate() {
+        long played = Math.min(published, window.length);
+        return played == 0 ? 0 : (double) windowLosses / played;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project_2_lansing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends finished games to a recording file so they can be replayed with SessionReplayer.
+ * The file starts with MAGIC and VERSION followed by SessionRecordings one after the other, written
+ * big endian by DataOutputStream.
+ */
+public class SessionRecorder implements AutoCloseable {
+
+    public static final long MAGIC = 0x525053524543L; // "RPSREC"
+    // The magic of files written before it was spelled out big endian, still read
+    static final long OLD_MAGIC = 0x434552535052L;
+    public static final int VERSION = 1;
+
+    private final DataOutputStream out;
+
+    /*
+     * Open a recording file for appending, creating it with a header when it does not exist yet.
+     */
+    public SessionRecorder(Path path) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        boolean isNew = !Files.exists(path) || Files.size(path) == 0;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (isNew) {
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+        }
+    }
+
+    /*
+     * Append a finished game and push it to the file.
+     */
+    public synchronized void write(SessionRecording recording) throws IOException {
+        recording.writeTo(out);
+        out.flush();
+    }
+
+    /*
+     * Read every recording in a file. A game that was only half written when the program stopped is left out.
+     */
+    public static List<SessionRecording> readAll(Path path) throws IOException {
+        List<SessionRecording> recordings = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long magic = in.readLong();
+            if (magic != MAGIC && magic != OLD_MAGIC || in.readInt() != VERSION)
+                throw new IOException(path + " is not a session recording.");
+            while (true) {
+                try {
+                    recordings.add(SessionRecording.readFrom(in));
+                }
+                catch (EOFException ex) {
+                    return recordings;
+                }
+            }
+        }
+        catch (EOFException ex) {
+            throw new IOException(path + " is not a session recording.");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.project_2_lansing;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Everything needed to play a game again: the generator algorithm and seed the computer drew from,
+ * the difficulty, the number of rounds and the player's moves, plus the outcomes that were seen so
+ * a replay can check it came out the same. Each round takes one byte, (outcome << 2) | move.
+ */
+public class SessionRecording {
+
+    private final String algorithm;
+    private final long seed;
+    private final Difficulty difficulty;
+    private final int roundsToPlay;
+    private byte[] rounds;
+    private int size = 0;
+
+    public SessionRecording(String algorithm, long seed, Difficulty difficulty, int roundsToPlay) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.roundsToPlay = roundsToPlay;
+        this.rounds = new byte[Math.max(16, Math.min(roundsToPlay, 1 << 16))];
+    }
+
+    /*
+     * Add the next round.
+     */
+    public void add(int playerChoice, byte outcome) {
+        if (size == rounds.length)
+            rounds = Arrays.copyOf(rounds, rounds.length * 2);
+        rounds[size++] = (byte) (outcome << 2 | playerChoice);
+    }
+
+    public int playerChoice(int round) {
+        return rounds[round] & 3;
+    }
+
+    public byte outcome(int round) {
+        return (byte) (rounds[round] >> 2);
+    }
+
+    /*
+     * Return the player's moves in the order they were played.
+     */
+    public int[] playerChoices() {
+        int[] moves = new int[size];
+        for (int i = 0; i < size; i++)
+            moves[i] = rounds[i] & 3;
+        return moves;
+    }
+
+    /*
+     * Return the number of rounds recorded.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Write the recording as algorithm (modified UTF-8), seed (long), difficulty ordinal (byte),
+     * rounds to play and rounds recorded (ints), then one byte per round.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(algorithm);
+        out.writeLong(seed);
+        out.writeByte(difficulty.ordinal());
+        out.writeInt(roundsToPlay);
+        out.writeInt(size);
+        out.write(rounds, 0, size);
+    }
+
+    /*
+     * Read a recording written by writeTo. A recording that claims more rounds than its game has is
+     * damaged and refused before anything is allocated for it.
+     */
+    public static SessionRecording readFrom(DataInput in) throws IOException {
+        String algorithm = in.readUTF();
+        long seed = in.readLong();
+        int difficulty = in.readByte();
+        int roundsToPlay = in.readInt();
+        int size = in.readInt();
+        if (difficulty < 0 || difficulty >= Difficulty.values().length || size < 0 || size > roundsToPlay)
+            throw new IOException("The recording is damaged.");
+        SessionRecording recording = new SessionRecording(algorithm, seed, Difficulty.values()[difficulty], roundsToPlay);
+        recording.rounds = new byte[size];
+        in.readFully(recording.rounds);
+        recording.size = size;
+        return recording;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getRoundsToPlay() {
+        return roundsToPlay;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All the games hosted by one process, looked up by session id. Lookups never lock and creating or
+ * removing a session only touches one bin of the map.
+ *
+ * When rounds are logged or games recorded, the games publish their events to a dispatcher of the
+ * registry and its saves consumer does the writing on a thread of its own, the way the window's saves
+ * do, so a slow disk never holds up a round. The match log is flushed at the end of every batch of
+ * events the consumer takes. Close the registry before the match log and the recorder so the saves
+ * take what is left first.
+ */
+public class SessionRegistry implements AutoCloseable {
+
+    // Rounds wait this many deep in the ring of the saves, more than that overflow into a queue behind it
+    static final int SAVE_EVENTS = 1 << 16;
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final RandomSource randomSource;
+    private volatile MatchLog matchLog;
+    private volatile SessionRecorder recorder;
+    // Where the games publish their events, or null when nothing is saved
+    private final EventDispatcher events;
+    // The recordings of games in play, filled in by the saves consumer
+    private final Map<Long, SessionRecording> recordings = new ConcurrentHashMap<>();
+
+    public SessionRegistry(RandomSource randomSource) {
+        this(randomSource, null);
+    }
+
+    /*
+     * Make a registry whose games append every round to the given match log.
+     */
+    public SessionRegistry(RandomSource randomSource, MatchLog matchLog) {
+        this(randomSource, matchLog, null);
+    }
+
+    /*
+     * Make a registry whose games append every round to the given match log, when there is one, and
+     * are saved to the recorder for replaying when they end.
+     */
+    public SessionRegistry(RandomSource randomSource, MatchLog matchLog, SessionRecorder recorder) {
+        this.randomSource = randomSource;
+        this.matchLog = matchLog;
+        this.recorder = recorder;
+        if (matchLog != null || recorder != null) {
+            events = new EventDispatcher();
+            events.subscribeThread("saves", SAVE_EVENTS, EventDispatcher.BackPressure.OVERFLOW, this::saveEvent);
+        }
+        else
+            events = null;
+    }
+
+    /*
+     * Start a new game and return its session.
+     */
+    public GameSession create(String name, Difficulty difficulty, int roundsToPlay) {
+        GameSession session = new GameSession(nextId.getAndIncrement(), name, difficulty, roundsToPlay, randomSource, events);
+        if (recorder != null)
+            recordings.put(session.getId(), new SessionRecording(randomSource.getAlgorithm(), session.getSeed(), difficulty, roundsToPlay));
+        sessions.put(session.getId(), session);
+        GameMetrics.get().sessionStarted();
+        return session;
+    }
+
+    /*
+     * Return the session with the given id, or null when there is none.
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /*
+     * End a game and return its session, or null when there is none.
+     */
+    public GameSession remove(long id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            // a finished game's recording is saved and forgotten when the saves take its end
+            if (!session.isGameOver())
+                recordings.remove(id);
+            GameMetrics.get().sessionEnded();
+        }
+        return session;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /*
+     * Take the games' events on the saves thread: append every round to the match log and the game's
+     * recording, save a finished game's recording, and flush the log at the end of every batch.
+     * Problems saving never stop the games.
+     */
+    private void saveEvent(GameEvent event, boolean endOfBatch) {
+        MatchLog log = matchLog;
+        switch (event.getType()) {
+            case ROUND_PLAYED -> {
+                if (log != null) {
+                    try {
+                        log.append(event.getTimestamp(), event.getSessionId(), event.getRound(), event.getPlayerChoice(),
+                                event.getComputerChoice(), event.getOutcome(), event.getDifficulty().ordinal());
+                    }
+                    catch (IOException ex) {
+                        System.err.println("Rounds will no longer be logged: " + ex.getMessage());
+                        matchLog = null;
+                    }
+                }
+                SessionRecording recording = recordings.get(event.getSessionId());
+                if (recording != null)
+                    recording.add(event.getPlayerChoice(), event.getOutcome());
+            }
+            case GAME_OVER -> {
+                SessionRecording recording = recordings.remove(event.getSessionId());
+                SessionRecorder sessionRecorder = recorder;
+                if (recording != null && sessionRecorder != null) {
+                    try {
+                        sessionRecorder.write(recording);
+                    }
+                    catch (IOException ex) {
+                        System.err.println("Games will no longer be recorded: " + ex.getMessage());
+                        recorder = null;
+                    }
+                }
+            }
+            case RESET, STREAK_REACHED -> { }
+        }
+        log = matchLog;
+        if (endOfBatch && log != null) {
+            try {
+                log.flush();
+            }
+            catch (IOException ex) {
+                System.err.println("Rounds will no longer be logged: " + ex.getMessage());
+                matchLog = null;
+            }
+        }
+    }
+
+    /*
+     * Let the saves take the events that are left. The match log and the recorder stay open.
+     */
+    @Override
+    public void close() {
+        if (events != null)
+            events.close();
+    }
+}
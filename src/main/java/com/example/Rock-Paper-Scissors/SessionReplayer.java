@@ -0,0 +1,81 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays recorded games again without a window, as fast as the engine goes and on every core, and
+ * checks that every round comes out the way it was recorded. A game replays the same because the
+ * computer draws from a generator made from the recorded seed and the opponent of the recorded difficulty.
+ * Use it as a regression suite over real games, or with --repeat as a load generator:
+ * java -cp target/classes com.example.project_2_lansing.SessionReplayer path/to/sessions.rec [--repeat=1]
+ */
+public class SessionReplayer {
+
+    /*
+     * The replay of one recording: the first round that came out differently, or -1 when all matched.
+     */
+    public record Result(SessionRecording recording, int firstMismatch, byte expected, byte actual) {
+
+        public boolean matches() {
+            return firstMismatch < 0;
+        }
+    }
+
+    /*
+     * Replay one recorded game.
+     */
+    public static Result replay(SessionRecording recording) {
+        RoundEngine engine = new RoundEngine(RandomSource.generator(recording.getAlgorithm(), recording.getSeed()),
+                recording.getDifficulty().newOpponent());
+        engine.setRoundsToPlay(recording.getRoundsToPlay());
+        int[] moves = recording.playerChoices();
+        byte[] outcomes = new byte[moves.length];
+        engine.playRounds(moves, moves.length, null, outcomes);
+        for (int round = 0; round < outcomes.length; round++) {
+            if (outcomes[round] != recording.outcome(round))
+                return new Result(recording, round, recording.outcome(round), outcomes[round]);
+        }
+        return new Result(recording, -1, (byte) 0, (byte) 0);
+    }
+
+    /*
+     * Replay every recording repeat times in parallel on the pool and return the ones that did not match.
+     */
+    public static List<Result> replayAll(List<SessionRecording> recordings, int repeat, ForkJoinPool pool) {
+        return pool.submit(() -> IntStream.range(0, recordings.size() * repeat).parallel()
+                .mapToObj(i -> replay(recordings.get(i % recordings.size())))
+                .filter(result -> !result.matches())
+                .toList()).join();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int repeat = 1;
+        for (String arg : args) {
+            if (arg.startsWith("--repeat="))
+                repeat = Integer.parseInt(arg.substring("--repeat=".length()));
+        }
+
+        List<SessionRecording> recordings = SessionRecorder.readAll(Path.of(args[0]));
+        long rounds = 0;
+        for (SessionRecording recording : recordings)
+            rounds += recording.size();
+
+        long start = System.nanoTime();
+        List<Result> mismatches = replayAll(recordings, repeat, ForkJoinPool.commonPool());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d sessions and %,d rounds replayed %d time(s) in %.3f s on %d threads (%,.0f rounds/s)%n",
+                recordings.size(), rounds, repeat, seconds, ForkJoinPool.commonPool().getParallelism(), rounds * repeat / seconds);
+        for (Result result : mismatches.subList(0, Math.min(10, mismatches.size()))) {
+            System.out.printf("Seed %d (%s): round %d was %d, replayed as %d%n", result.recording().getSeed(),
+                    result.recording().getDifficulty().getLabel(), result.firstMismatch() + 1, result.expected(), result.actual());
+        }
+        System.out.println(mismatches.isEmpty() ? "All sessions matched." : mismatches.size() + " replays did not match.");
+        if (!mismatches.isEmpty())
+            System.exit(1);
+    }
+}
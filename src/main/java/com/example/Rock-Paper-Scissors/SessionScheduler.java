@@ -0,0 +1,453 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Puts the hosted games of a SessionRegistry or SessionTable on the clock, so abandoned games do not
+ * stay in memory for good. Every game has up to two timers in a TimerWheel:
+ * MOVE_TIMEOUT    the player took too long to move, a move is picked at random for them and the clock
+ *                 starts again. Moves picked for the player do not count as activity.
+ * IDLE            the player has not played for the idle timeout, the game is evicted
+ * FINISH          the game has been over for the finish delay, long enough for the client to read the
+ *                 score, and is evicted
+ * A game that is ended by its client is evicted straight away. Evicting a game removes it from its host
+ * and adds what was played to the player's profile in the ProfileStore, when there is one. Games without
+ * a player's name, compact games among them, are added up per difficulty instead and the totals are
+ * added to the ProfileStore.ANONYMOUS profile every FLUSH_MILLIS and when the scheduler is closed.
+ *
+ * The servers tell the scheduler about every game started and every round played. Each of those cancels
+ * and schedules a timer or two, which costs the same however many games are hosted. A move or idle timeout
+ * of 0 leaves that timer off, a finish delay of 0 evicts finished games on the next tick. The timers of a
+ * game are kept under the game's own lock, the session for a registry and the slot's stripe for a table,
+ * so games only wait on each other inside the wheel. A game whose timers do not fit in the wheel is
+ * removed again and refused with an IllegalStateException.
+ */
+public class SessionScheduler implements AutoCloseable {
+
+    public static final int MOVE_TIMEOUT = 0;
+    public static final int IDLE = 1;
+    public static final int FINISH = 2;
+
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    public static final long DEFAULT_IDLE_MILLIS = 10 * 60 * 1000;
+    public static final long DEFAULT_FINISH_MILLIS = 60 * 1000;
+    public static final long FLUSH_MILLIS = 1000;
+    // Games a registry may host at once when no limit is given, the registry itself has no fixed capacity
+    public static final int DEFAULT_MAX_GAMES = 1 << 16;
+    // Room in the wheel for the timers of games ended while their timer was handed out
+    static final int SPARE_TIMERS = 1024;
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final SessionRegistry registry;
+    private final SessionTable table;
+    private volatile ProfileStore profiles;
+    private final long moveTimeoutMillis;
+    private final long idleMillis;
+    private final long finishMillis;
+    private final TimerWheel wheel;
+    // The IDLE or FINISH timer and the MOVE_TIMEOUT timer of every slot of the table
+    private final long[] tableTimers;
+    private final SplittableRandom random = new SplittableRandom();
+    // The wins, losses and ties of evicted games without a name by difficulty, and their longest streaks
+    private final LongAdder[] anonymousScores = new LongAdder[DIFFICULTIES.length * 3];
+    private final LongAccumulator[] anonymousStreaks = new LongAccumulator[DIFFICULTIES.length * 2];
+    private long lastFlush;
+
+    private final LongAdder movesTimedOut = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder finishedEvictions = new LongAdder();
+
+    private Thread ticker;
+    private volatile boolean running;
+
+    /*
+     * Schedule up to DEFAULT_MAX_GAMES games of a registry, adding evicted games to the profiles when
+     * profiles is not null.
+     */
+    public SessionScheduler(SessionRegistry registry, ProfileStore profiles, long moveTimeoutMillis, long idleMillis, long finishMillis) {
+        this(registry, profiles, DEFAULT_MAX_GAMES, moveTimeoutMillis, idleMillis, finishMillis);
+    }
+
+    /*
+     * Schedule up to maxGames games of a registry at once. The wheel holds two timers for each of them.
+     */
+    public SessionScheduler(SessionRegistry registry, ProfileStore profiles, int maxGames, long moveTimeoutMillis, long idleMillis,
+                            long finishMillis) {
+        if (maxGames <= 0 || maxGames > (Integer.MAX_VALUE - SPARE_TIMERS) / 2)
+            throw new IllegalArgumentException("A scheduler keeps 1 to " + (Integer.MAX_VALUE - SPARE_TIMERS) / 2 + " games.");
+        this.registry = registry;
+        this.table = null;
+        this.profiles = profiles;
+        this.moveTimeoutMillis = moveTimeoutMillis;
+        this.idleMillis = idleMillis;
+        this.finishMillis = finishMillis;
+        this.wheel = new TimerWheel(maxGames * 2 + SPARE_TIMERS, TimerWheel.DEFAULT_WHEEL_SIZE, DEFAULT_TICK_MILLIS, this::expired);
+        this.tableTimers = null;
+        initAnonymous();
+    }
+
+    /*
+     * Schedule the games of a table, adding the scores of evicted games to the anonymous profile when
+     * profiles is not null.
+     */
+    public SessionScheduler(SessionTable table, ProfileStore profiles, long moveTimeoutMillis, long idleMillis, long finishMillis) {
+        this.registry = null;
+        this.table = table;
+        this.profiles = profiles;
+        this.moveTimeoutMillis = moveTimeoutMillis;
+        this.idleMillis = idleMillis;
+        this.finishMillis = finishMillis;
+        this.wheel = new TimerWheel(table.capacity() * 2 + SPARE_TIMERS, TimerWheel.DEFAULT_WHEEL_SIZE, DEFAULT_TICK_MILLIS, this::expired);
+        this.tableTimers = new long[table.capacity() * 2];
+        initAnonymous();
+    }
+
+    private void initAnonymous() {
+        for (int i = 0; i < anonymousScores.length; i++)
+            anonymousScores[i] = new LongAdder();
+        for (int i = 0; i < anonymousStreaks.length; i++)
+            anonymousStreaks[i] = new LongAccumulator(Math::max, 0);
+    }
+
+    /*
+     * Advance the wheel every tick on a daemon thread, and add up the anonymous games every FLUSH_MILLIS.
+     */
+    public synchronized void start() {
+        if (ticker != null)
+            return;
+        running = true;
+        ticker = new Thread(() -> {
+            while (running) {
+                try {
+                    wheel.advance();
+                    if (wheel.now() - lastFlush >= FLUSH_MILLIS) {
+                        lastFlush = wheel.now();
+                        flushAnonymous();
+                    }
+                    Thread.sleep(DEFAULT_TICK_MILLIS);
+                }
+                catch (InterruptedException ex) {
+                    break;
+                }
+                catch (RuntimeException ex) {
+                    System.err.println("A session timer failed: " + ex);
+                }
+            }
+        }, "session-scheduler");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /*
+     * Fire the timers that have come due by the given time in milliseconds, for a clock that is not started.
+     */
+    int advance(long nowMillis) {
+        return wheel.advance(nowMillis);
+    }
+
+    /*
+     * Start the clock of a game that was just created. When the wheel has no room for its timers the game
+     * is removed from its host and IllegalStateException is thrown.
+     */
+    public void created(long id) {
+        Object lock = lockOf(id);
+        if (lock == null)
+            return;
+        try {
+            synchronized (lock) {
+                if (!isHosted(id, lock))
+                    return;
+                setTimer(id, 0, idleMillis > 0 ? wheel.schedule(idleMillis, IDLE, id) : 0);
+                setTimer(id, 1, moveTimeoutMillis > 0 ? wheel.schedule(moveTimeoutMillis, MOVE_TIMEOUT, id) : 0);
+            }
+        }
+        catch (IllegalStateException ex) {
+            // a game without its timers would never be evicted
+            evict(id);
+            throw new IllegalStateException("No more games can be hosted.", ex);
+        }
+    }
+
+    /*
+     * Start the clock again after the player played a round, or start the finish delay when it was the last.
+     */
+    public void played(long id) {
+        Object lock = lockOf(id);
+        if (lock == null)
+            return;
+        synchronized (lock) {
+            if (!isHosted(id, lock))
+                return;
+            wheel.cancel(getTimer(id, 0));
+            wheel.cancel(getTimer(id, 1));
+            if (isGameOver(id)) {
+                setTimer(id, 0, wheel.schedule(finishMillis, FINISH, id));
+                setTimer(id, 1, 0);
+            }
+            else {
+                setTimer(id, 0, idleMillis > 0 ? wheel.schedule(idleMillis, IDLE, id) : 0);
+                setTimer(id, 1, moveTimeoutMillis > 0 ? wheel.schedule(moveTimeoutMillis, MOVE_TIMEOUT, id) : 0);
+            }
+        }
+    }
+
+    /*
+     * Stop the game's timers, remove it from its host and save it to the player's profile.
+     * Return false when there was no such game.
+     */
+    public boolean evict(long id) {
+        Object lock = lockOf(id);
+        if (lock == null)
+            return false;
+        if (table != null) {
+            Difficulty difficulty;
+            int wins;
+            int losses;
+            int ties;
+            synchronized (lock) {
+                if (!table.isHosted(id))
+                    return false;
+                wheel.cancel(getTimer(id, 0));
+                wheel.cancel(getTimer(id, 1));
+                setTimer(id, 0, 0);
+                setTimer(id, 1, 0);
+                difficulty = table.getDifficulty(id);
+                wins = table.getWins(id);
+                losses = table.getLosses(id);
+                ties = table.getTies(id);
+                table.remove(id);
+            }
+            addAnonymous(difficulty, wins, losses, ties, 0, 0);
+            return true;
+        }
+
+        GameSession session = (GameSession) lock;
+        synchronized (session) {
+            if (registry.remove(id) != session)
+                return false;
+            wheel.cancel(session.lifeTimer);
+            wheel.cancel(session.moveTimer);
+            session.lifeTimer = 0;
+            session.moveTimer = 0;
+        }
+        saveProfile(session);
+        return true;
+    }
+
+    /*
+     * Take a timer of the wheel. Timers that were replaced while they were being handed out are ignored.
+     */
+    private void expired(long handle, int kind, long id) {
+        int which = kind == MOVE_TIMEOUT ? 1 : 0;
+        Object lock = lockOf(id);
+        if (lock == null)
+            return;
+        synchronized (lock) {
+            if (!isHosted(id, lock) || getTimer(id, which) != handle)
+                return;
+            setTimer(id, which, 0);
+        }
+        switch (kind) {
+            case MOVE_TIMEOUT -> timeOutMove(id);
+            case IDLE -> {
+                if (evict(id))
+                    idleEvictions.increment();
+            }
+            case FINISH -> {
+                if (evict(id))
+                    finishedEvictions.increment();
+            }
+        }
+    }
+
+    /*
+     * Play a random move for a player who ran out of time and start the clock of the next move.
+     */
+    private void timeOutMove(long id) {
+        int move;
+        synchronized (random) {
+            move = random.nextInt(3);
+        }
+        Object lock = lockOf(id);
+        if (lock == null)
+            return;
+        synchronized (lock) {
+            if (!isHosted(id, lock))
+                return;
+            int computerChoice = table != null ? table.play(id, move) : ((GameSession) lock).play(move);
+            if (computerChoice < 0)
+                return;
+            movesTimedOut.increment();
+
+            if (isGameOver(id)) {
+                wheel.cancel(getTimer(id, 0));
+                setTimer(id, 0, wheel.schedule(finishMillis, FINISH, id));
+            }
+            else if (getTimer(id, 1) == 0)
+                setTimer(id, 1, wheel.schedule(moveTimeoutMillis, MOVE_TIMEOUT, id));
+        }
+    }
+
+    /*
+     * Add an evicted game to its player's profile, or to the anonymous totals when it has no name.
+     * Games without rounds are not kept.
+     */
+    private void saveProfile(GameSession session) {
+        ProfileStore store = profiles;
+        GameStats.Snapshot snapshot = session.getStats().snapshot();
+        if (store == null || snapshot.rounds() == 0)
+            return;
+        SessionAnalytics analytics = session.getAnalytics();
+        if (session.getName() == null || session.getName().isBlank()) {
+            addAnonymous(session.getDifficulty(), snapshot.wins(), snapshot.losses(), snapshot.ties(),
+                    analytics.getLongestWinStreak(), analytics.getLongestLossStreak());
+            return;
+        }
+        try {
+            store.recordGame(session.getName(), session.getDifficulty(), snapshot.wins(), snapshot.losses(), snapshot.ties(),
+                    analytics.getLongestWinStreak(), analytics.getLongestLossStreak());
+        }
+        catch (IOException ex) {
+            System.err.println("Profiles will no longer be saved: " + ex.getMessage());
+            profiles = null;
+        }
+    }
+
+    private void addAnonymous(Difficulty difficulty, long wins, long losses, long ties, int longestWinStreak, int longestLossStreak) {
+        if (profiles == null || wins + losses + ties == 0)
+            return;
+        int scores = difficulty.ordinal() * 3;
+        anonymousScores[scores].add(wins);
+        anonymousScores[scores + 1].add(losses);
+        anonymousScores[scores + 2].add(ties);
+        anonymousStreaks[difficulty.ordinal() * 2].accumulate(longestWinStreak);
+        anonymousStreaks[difficulty.ordinal() * 2 + 1].accumulate(longestLossStreak);
+    }
+
+    /*
+     * Add the games without a name that were evicted since the last flush to the anonymous profile.
+     */
+    void flushAnonymous() {
+        ProfileStore store = profiles;
+        if (store == null)
+            return;
+        for (Difficulty difficulty : DIFFICULTIES) {
+            int scores = difficulty.ordinal() * 3;
+            long wins = anonymousScores[scores].sumThenReset();
+            long losses = anonymousScores[scores + 1].sumThenReset();
+            long ties = anonymousScores[scores + 2].sumThenReset();
+            int longestWinStreak = (int) anonymousStreaks[difficulty.ordinal() * 2].getThenReset();
+            int longestLossStreak = (int) anonymousStreaks[difficulty.ordinal() * 2 + 1].getThenReset();
+            if (wins + losses + ties == 0)
+                continue;
+            try {
+                store.recordGame(ProfileStore.ANONYMOUS, difficulty, wins, losses, ties, longestWinStreak, longestLossStreak);
+            }
+            catch (IOException ex) {
+                System.err.println("Profiles will no longer be saved: " + ex.getMessage());
+                profiles = null;
+                return;
+            }
+        }
+    }
+
+    /*
+     * Return the lock the timers of a game are kept under, or null when there is no such game.
+     */
+    private Object lockOf(long id) {
+        return table != null ? table.lockOf(id) : registry.get(id);
+    }
+
+    /*
+     * Return whether the game is still hosted under the lock it was found with.
+     */
+    private boolean isHosted(long id, Object lock) {
+        return table != null ? table.isHosted(id) : registry.get(id) == lock;
+    }
+
+    private boolean isGameOver(long id) {
+        try {
+            if (table != null)
+                return table.isGameOver(id);
+            GameSession session = registry.get(id);
+            return session != null && session.isGameOver();
+        }
+        catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /*
+     * Return a timer of a game, 0 for its IDLE or FINISH timer and 1 for its MOVE_TIMEOUT timer, or 0 when it has none.
+     */
+    private long getTimer(long id, int which) {
+        if (table != null)
+            return tableTimers[(int) id * 2 + which];
+        GameSession session = registry.get(id);
+        if (session == null)
+            return 0;
+        return which == 0 ? session.lifeTimer : session.moveTimer;
+    }
+
+    private void setTimer(long id, int which, long handle) {
+        if (table != null)
+            tableTimers[(int) id * 2 + which] = handle;
+        else {
+            GameSession session = registry.get(id);
+            if (session == null)
+                return;
+            if (which == 0)
+                session.lifeTimer = handle;
+            else
+                session.moveTimer = handle;
+        }
+    }
+
+    /*
+     * Return how many moves were picked for players who ran out of time.
+     */
+    public long getMovesTimedOut() {
+        return movesTimedOut.sum();
+    }
+
+    public long getIdleEvictions() {
+        return idleEvictions.sum();
+    }
+
+    public long getFinishedEvictions() {
+        return finishedEvictions.sum();
+    }
+
+    /*
+     * Return the number of timers waiting to fire.
+     */
+    public int pendingTimers() {
+        return wheel.size();
+    }
+
+    /*
+     * Stop the clock and add up the last anonymous games. Games still hosted stay where they are.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = ticker;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAnonymous();
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.project_2_lansing;
+
+/**
+ * Hosts games as packed longs in one flat array instead of one GameSession object each, so millions of
+ * games fit in a footprint fixed when the table is made: WORDS longs per game, whether it is idle or playing.
+ * A game keeps its score, its difficulty, the player's last HISTORY moves and the state of its generator,
+ * and nothing else. It has no name, match log, recording or analytics; host games with SessionRegistry
+ * when those are needed.
+ *
+ * The words of a game:
+ * SCORE   wins (20 bits) | losses (20 bits) | ties (20 bits), the round is their sum plus one
+ * GAME    rounds to play (20 bits) | last moves (2 bits each) | moves remembered (4 bits) | difficulty (3 bits)
+ *         | generation (11 bits) | in use (1 bit)
+ * RANDOM  the state of a SplittableRandom seeded with the game's seed, stepped in place
+ *
+ * The biased difficulties play exactly like a RoundEngine with RandomSource.generator("SplittableRandom", seed),
+ * so those games can be checked against the engine. The mind reader predicts from the remembered moves only:
+ * the move that most often followed the player's last move.
+ *
+ * Session ids are the slot with its generation above it, so an id stops working once its game is removed
+ * even when the slot is reused. Plays on one game are serialized on one of STRIPES locks, so games only
+ * wait on each other when they share a lock.
+ */
+public class SessionTable {
+
+    public static final int WORDS = 3;
+    public static final int MAX_ROUNDS = (1 << 20) - 1;
+    public static final int HISTORY = 8;
+    public static final String ALGORITHM = "SplittableRandom";
+
+    static final int SCORE = 0;
+    static final int GAME = 1;
+    static final int RANDOM = 2;
+
+    static final int COUNT_BITS = 20;
+    static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    static final int LOSSES_SHIFT = 20;
+    static final int TIES_SHIFT = 40;
+
+    static final int MOVES_SHIFT = 20;
+    static final long MOVES_MASK = (1L << 2 * HISTORY) - 1;
+    static final int REMEMBERED_SHIFT = MOVES_SHIFT + 2 * HISTORY;
+    static final int DIFFICULTY_SHIFT = REMEMBERED_SHIFT + 4;
+    static final int GENERATION_SHIFT = DIFFICULTY_SHIFT + 3;
+    static final int GENERATION_BITS = 11;
+    static final long IN_USE = 1L << 63;
+
+    static final int STRIPES = 256;
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final long[] words;
+    private final int capacity;
+    private final Object[] locks = new Object[STRIPES];
+    private final RandomSource randomSource;
+
+    // Free slots are a stack threaded through the SCORE words of unused slots
+    private int freeHead;
+    private int size = 0;
+
+    /*
+     * Make a table for at most capacity games at once.
+     */
+    public SessionTable(int capacity, RandomSource randomSource) {
+        if (capacity <= 0 || (long) capacity * WORDS > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("A session table holds 1 to " + (Integer.MAX_VALUE - 8) / WORDS + " games.");
+        this.capacity = capacity;
+        this.words = new long[capacity * WORDS];
+        this.randomSource = randomSource;
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new Object();
+        for (int slot = 0; slot < capacity; slot++)
+            words[slot * WORDS + SCORE] = slot + 1;
+        freeHead = 0;
+    }
+
+    /*
+     * Start a new game and return its session id.
+     */
+    public long create(Difficulty difficulty, int roundsToPlay) {
+        return create(difficulty, roundsToPlay, randomSource.nextSeed());
+    }
+
+    /*
+     * Start a new game that draws from the generator of the given seed and return its session id.
+     */
+    public long create(Difficulty difficulty, int roundsToPlay, long seed) {
+        if (roundsToPlay <= 0 || roundsToPlay > MAX_ROUNDS)
+            throw new IllegalArgumentException("A game has 1 to " + MAX_ROUNDS + " rounds.");
+        int slot;
+        synchronized (this) {
+            if (freeHead == capacity)
+                throw new IllegalStateException("The session table is full.");
+            slot = freeHead;
+            freeHead = (int) words[slot * WORDS + SCORE];
+            size++;
+        }
+        int base = slot * WORDS;
+        long generation;
+        synchronized (locks[slot % STRIPES]) {
+            generation = generationOf(words[base + GAME]) + 1 & (1L << GENERATION_BITS) - 1;
+            words[base + SCORE] = 0;
+            words[base + RANDOM] = seed;
+            words[base + GAME] = IN_USE | generation << GENERATION_SHIFT | (long) difficulty.ordinal() << DIFFICULTY_SHIFT | roundsToPlay;
+        }
+        GameMetrics.get().sessionStarted();
+        return generation << 32 | slot;
+    }
+
+    /*
+     * Play one round and return the computer's choice, or -1 when the game is already over.
+     */
+    public int play(long id, int playerChoice) {
+        int slot = slotOf(id);
+        int base = slot * WORDS;
+        synchronized (locks[slot % STRIPES]) {
+            long game = live(id, slot);
+            long score = words[base + SCORE];
+            int round = round(score);
+            if (round > (int) (game & COUNT_MASK))
+                return -1;
+
+            long start = GameMetrics.enabled() ? System.nanoTime() : 0;
+            Difficulty difficulty = DIFFICULTIES[(int) (game >>> DIFFICULTY_SHIFT & 7)];
+            int computerChoice = difficulty.isAdaptive() ? readMind(base, game) : chooseBiased(base, playerChoice, difficulty.getChanceToWin());
+            byte outcome = RoundEngine.outcome(playerChoice, computerChoice);
+            switch (outcome) {
+                case RoundEngine.WIN -> score += 1;
+                case RoundEngine.LOSS -> score += 1L << LOSSES_SHIFT;
+                default -> score += 1L << TIES_SHIFT;
+            }
+            words[base + SCORE] = score;
+
+            // Remember the player's move, the latest in the lowest two bits
+            long moves = ((game >>> MOVES_SHIFT & MOVES_MASK) << 2 | playerChoice) & MOVES_MASK;
+            long remembered = Math.min(HISTORY, (game >>> REMEMBERED_SHIFT & 15) + 1);
+            game &= ~(MOVES_MASK << MOVES_SHIFT | 15L << REMEMBERED_SHIFT);
+            words[base + GAME] = game | moves << MOVES_SHIFT | remembered << REMEMBERED_SHIFT;
+
+            if (start != 0)
+                GameMetrics.get().roundPlayed(id, round, difficulty, playerChoice, computerChoice, outcome, System.nanoTime() - start);
+            return computerChoice;
+        }
+    }
+
+    /*
+     * The biased opponent's draws: a random move, then the bias roll, from the game's generator.
+     */
+    private int chooseBiased(int base, int playerChoice, double chanceToWin) {
+        int computerChoice = nextInt3(base);
+        double tryToWin = (nextLong(base) >>> 11) * 0x1.0p-53;
+        if (chanceToWin > 0.5) {
+            if (tryToWin < chanceToWin)
+                computerChoice = Ruleset.CLASSIC.beats(playerChoice);
+        }
+        else if (chanceToWin < 0.5) {
+            if (tryToWin > chanceToWin)
+                computerChoice = Ruleset.CLASSIC.losesTo(playerChoice);
+        }
+        return computerChoice;
+    }
+
+    /*
+     * Predict the move that most often followed the player's last move among the remembered moves and
+     * play what beats it, at random while there is nothing to go on or for PatternOpponent.EXPLORE of the rounds.
+     */
+    private int readMind(int base, long game) {
+        if ((nextLong(base) >>> 11) * 0x1.0p-53 < PatternOpponent.EXPLORE)
+            return nextInt3(base);
+        long moves = game >>> MOVES_SHIFT & MOVES_MASK;
+        int remembered = (int) (game >>> REMEMBERED_SHIFT & 15);
+        int last = (int) (moves & 3);
+        // Counts of rock, paper and scissors after the last move, 8 bits each
+        int followed = 0;
+        for (int i = 1; i < remembered; i++) {
+            if ((moves >>> 2 * i & 3) == last)
+                followed += 1 << 8 * (moves >>> 2 * (i - 1) & 3);
+        }
+        if (followed == 0)
+            return nextInt3(base);
+        int rock = followed & 0xFF;
+        int paper = followed >>> 8 & 0xFF;
+        int scissors = followed >>> 16;
+        int predicted = rock >= paper ? (rock >= scissors ? 0 : 2) : (paper >= scissors ? 1 : 2);
+        return Ruleset.CLASSIC.losesTo(predicted);
+    }
+
+    /*
+     * SplittableRandom.nextLong on the game's state.
+     */
+    private long nextLong(int base) {
+        long z = words[base + RANDOM] += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * SplittableRandom.nextInt(3) on the game's state, rejecting the draws that would favor a move.
+     */
+    private int nextInt3(int base) {
+        int r;
+        for (int u = nextInt(base) >>> 1; u + 2 - (r = u % 3) < 0; u = nextInt(base) >>> 1)
+            ;
+        return r;
+    }
+
+    private int nextInt(int base) {
+        long z = words[base + RANDOM] += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /*
+     * Return the score as "wins losses ties round", the same as GameSession.score().
+     */
+    public String score(long id) {
+        long score = scoreWord(id);
+        return wins(score) + " " + losses(score) + " " + ties(score) + " " + round(score);
+    }
+
+    public int getWins(long id) {
+        return wins(scoreWord(id));
+    }
+
+    public int getLosses(long id) {
+        return losses(scoreWord(id));
+    }
+
+    public int getTies(long id) {
+        return ties(scoreWord(id));
+    }
+
+    public int getCurrentRound(long id) {
+        return round(scoreWord(id));
+    }
+
+    public boolean isGameOver(long id) {
+        int slot = slotOf(id);
+        synchronized (locks[slot % STRIPES]) {
+            return round(words[slot * WORDS + SCORE]) > (int) (live(id, slot) & COUNT_MASK);
+        }
+    }
+
+    /*
+     * Return whether the id names a game in play, over or not.
+     */
+    public boolean isHosted(long id) {
+        long slot = id & 0xFFFFFFFFL;
+        if (id < 0 || slot >= capacity)
+            return false;
+        synchronized (locks[(int) slot % STRIPES]) {
+            long game = words[(int) slot * WORDS + GAME];
+            return (game & IN_USE) != 0 && generationOf(game) == id >>> 32;
+        }
+    }
+
+    /*
+     * Return the lock plays on the game are serialized on, or null for an id that names no slot.
+     */
+    Object lockOf(long id) {
+        long slot = id & 0xFFFFFFFFL;
+        if (id < 0 || slot >= capacity)
+            return null;
+        return locks[(int) slot % STRIPES];
+    }
+
+    public Difficulty getDifficulty(long id) {
+        int slot = slotOf(id);
+        synchronized (locks[slot % STRIPES]) {
+            return DIFFICULTIES[(int) (live(id, slot) >>> DIFFICULTY_SHIFT & 7)];
+        }
+    }
+
+    /*
+     * Return the player's last moves, oldest first, at most HISTORY of them.
+     */
+    public int[] lastMoves(long id) {
+        int slot = slotOf(id);
+        synchronized (locks[slot % STRIPES]) {
+            long game = live(id, slot);
+            long moves = game >>> MOVES_SHIFT & MOVES_MASK;
+            int[] last = new int[(int) (game >>> REMEMBERED_SHIFT & 15)];
+            for (int i = 0; i < last.length; i++)
+                last[last.length - 1 - i] = (int) (moves >>> 2 * i & 3);
+            return last;
+        }
+    }
+
+    /*
+     * End a game. Return false when there was no such game.
+     */
+    public boolean remove(long id) {
+        int slot = slotOf(id);
+        int base = slot * WORDS;
+        synchronized (locks[slot % STRIPES]) {
+            long game = words[base + GAME];
+            if ((game & IN_USE) == 0 || generationOf(game) != id >>> 32)
+                return false;
+            words[base + GAME] = game & ~IN_USE;
+        }
+        synchronized (this) {
+            words[base + SCORE] = freeHead;
+            freeHead = slot;
+            size--;
+        }
+        GameMetrics.get().sessionEnded();
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private long scoreWord(long id) {
+        int slot = slotOf(id);
+        synchronized (locks[slot % STRIPES]) {
+            live(id, slot);
+            return words[slot * WORDS + SCORE];
+        }
+    }
+
+    /*
+     * Return the GAME word of the session, or throw when the id does not name a game in play.
+     */
+    private long live(long id, int slot) {
+        long game = words[slot * WORDS + GAME];
+        if ((game & IN_USE) == 0 || generationOf(game) != id >>> 32)
+            throw new IllegalArgumentException("No such session.");
+        return game;
+    }
+
+    private int slotOf(long id) {
+        long slot = id & 0xFFFFFFFFL;
+        if (id < 0 || slot >= capacity)
+            throw new IllegalArgumentException("No such session.");
+        return (int) slot;
+    }
+
+    private static long generationOf(long game) {
+        return game >>> GENERATION_SHIFT & (1L << GENERATION_BITS) - 1;
+    }
+
+    private static int wins(long score) {
+        return (int) (score & COUNT_MASK);
+    }
+
+    private static int losses(long score) {
+        return (int) (score >>> LOSSES_SHIFT & COUNT_MASK);
+    }
+
+    private static int ties(long score) {
+        return (int) (score >>> TIES_SHIFT & COUNT_MASK);
+    }
+
+    private static int round(long score) {
+        return wins(score) + losses(score) + ties(score) + 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.project_2_lansing;
+
+import javafx.scene.Scene;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures how long a cold start takes until the first frame of the main menu is laid out,
+ * counted from JVM start and from main. Launch the application with --startup-time to print it, or with
+ * --exit-after-first-frame to print it and quit, which is how StartupBenchmark and the startup profile start it.
+ */
+public class StartupTimer {
+
+    private static long mainStarted = System.nanoTime();
+
+    /*
+     * Remember when main was entered.
+     */
+    public static void mainStarted() {
+        mainStarted = System.nanoTime();
+    }
+
+    /*
+     * Call back once the first pulse of the scene has been laid out, with the milliseconds since main.
+     */
+    public static void onFirstFrame(Scene scene, FirstFrameListener listener) {
+        Runnable[] firstPulse = new Runnable[1];
+        firstPulse[0] = () -> {
+            scene.removePostLayoutPulseListener(firstPulse[0]);
+            listener.firstFrame((System.nanoTime() - mainStarted) / 1_000_000);
+        };
+        scene.addPostLayoutPulseListener(firstPulse[0]);
+    }
+
+    /*
+     * Return the milliseconds since the JVM was started, or -1 when the platform does not say.
+     */
+    public static long sinceJvmStart() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+
+    @FunctionalInterface
+    public interface FirstFrameListener {
+        void firstFrame(long millisSinceMain);
+    }
+}
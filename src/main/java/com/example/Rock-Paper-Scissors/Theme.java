@@ -0,0 +1,128 @@
+package com.example.project_2_lansing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * A color theme, applied by putting its style class on the root of a scene that uses theme.css.
+ * The built-in themes are precompiled in theme.css. Themes loaded from files carry a small stylesheet
+ * of their own that sets the same looked-up colors for their class.
+ *
+ * A theme file is a .properties file with a name and four colors in hex:
+ * name=Ocean
+ * background=0B3C5D
+ * text=D9B310
+ * error=FF0000
+ * title=328CC1
+ */
+public final class Theme {
+
+    public static final Theme METAL = new Theme("Metal", null);
+    public static final Theme BRIGHT = new Theme("Bright", null);
+    public static final Theme EASTER = new Theme("Easter", null);
+    public static final List<Theme> BUILT_IN = List.of(METAL, BRIGHT, EASTER);
+
+    static final String[] COLORS = { "background", "text", "error", "title" };
+    private static final Pattern HEX = Pattern.compile("#?[0-9A-Fa-f]{6}([0-9A-Fa-f]{2})?");
+
+    private final String name;
+    private final String styleClass;
+    // data: URL of the theme's own stylesheet, or null for the themes in theme.css
+    private final String stylesheet;
+
+    private Theme(String name, String stylesheet) {
+        this.name = name;
+        this.styleClass = "theme-" + name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        this.stylesheet = stylesheet;
+    }
+
+    /*
+     * Make a theme from four colors in hex, in order of background, text, error text and title.
+     */
+    public static Theme of(String name, String... colors) {
+        if (colors.length != COLORS.length)
+            throw new IllegalArgumentException("A theme needs " + COLORS.length + " colors.");
+        Theme theme = new Theme(name, null);
+        StringBuilder css = new StringBuilder(".root.").append(theme.styleClass).append(" {\n");
+        for (int i = 0; i < COLORS.length; i++) {
+            if (colors[i] == null || !HEX.matcher(colors[i]).matches())
+                throw new IllegalArgumentException("The " + COLORS[i] + " color of " + name + " is not a hex color.");
+            css.append("    -theme-").append(COLORS[i]).append(": #").append(colors[i].replace("#", "")).append(";\n");
+        }
+        css.append("}\n");
+        return new Theme(name, "data:text/css;base64," + Base64.getEncoder().encodeToString(css.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+     * Read a theme file. The name defaults to the file name.
+     */
+    public static Theme load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String fileName = file.getFileName().toString();
+        String name = properties.getProperty("name", fileName.substring(0, fileName.lastIndexOf('.'))).strip();
+        String[] colors = new String[COLORS.length];
+        for (int i = 0; i < COLORS.length; i++)
+            colors[i] = properties.getProperty(COLORS[i], "").strip();
+        try {
+            return of(name, colors);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new IOException(file + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /*
+     * Read every .properties theme file in a folder, in name order. Files that cannot be read are
+     * reported and skipped, and a folder that does not exist has no themes.
+     */
+    public static List<Theme> loadAll(Path folder) {
+        List<Theme> themes = new ArrayList<>();
+        if (!Files.isDirectory(folder))
+            return themes;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.properties")) {
+            stream.forEach(files::add);
+        }
+        catch (IOException ex) {
+            System.err.println("Themes could not be listed: " + ex.getMessage());
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try {
+                themes.add(load(file));
+            }
+            catch (IOException ex) {
+                System.err.println("Theme skipped: " + ex.getMessage());
+            }
+        }
+        return themes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getStyleClass() {
+        return styleClass;
+    }
+
+    /*
+     * Return the URL of the stylesheet that defines this theme's class, or null when theme.css does.
+     */
+    public String getStylesheet() {
+        return stylesheet;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.project_2_lansing;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel for large numbers of timers that are mostly cancelled before they fire. Time is
+ * cut into ticks and a timer goes in the bucket of its deadline tick modulo the size of the wheel, so
+ * scheduling and cancelling a timer are O(1) no matter how many are pending. Advancing the wheel walks
+ * the buckets of the ticks that passed and fires the timers whose deadline came, leaving the ones due
+ * in a later turn of the wheel where they are.
+ *
+ * Timers live in flat arrays, the way SessionTable keeps games: every bucket is a circular doubly-linked
+ * list through next and prev, with a sentinel entry of its own after the timers, and free timers are
+ * chained through next. A timer is a kind and a long payload, and is named by a handle of its slot and
+ * a generation, so a handle of a timer that fired or was cancelled never names a later one.
+ *
+ * Expired timers are handed to the handler without the wheel's lock held, so the handler may schedule
+ * and cancel. Safe to use from any thread.
+ */
+public class TimerWheel {
+
+    @FunctionalInterface
+    public interface Expired {
+        /*
+         * Take a timer that came due.
+         */
+        void expired(long handle, int kind, long payload);
+    }
+
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    private final int capacity;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    private final Expired handler;
+
+    private final long[] deadlines;
+    private final long[] payloads;
+    private final int[] kinds;
+    private final int[] generations;
+    // Buckets and free timers are linked through these, the sentinels of the buckets are at capacity and after
+    private final int[] next;
+    private final int[] prev;
+    // The sentinel of the list of timers that came due and are waiting to be handed to the handler
+    private final int due;
+
+    private int freeHead;
+    private int size;
+    // The last tick whose bucket has been walked
+    private long tick;
+
+    /*
+     * Make a wheel for at most capacity pending timers with buckets of tickMillis.
+     */
+    public TimerWheel(int capacity, int wheelSize, long tickMillis, Expired handler) {
+        if (capacity <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1)
+            throw new IllegalArgumentException("The wheel needs room for timers and a power of two buckets.");
+        if (tickMillis <= 0)
+            throw new IllegalArgumentException("A tick must be at least a millisecond.");
+        this.capacity = capacity;
+        this.mask = wheelSize - 1;
+        this.tickNanos = tickMillis * 1_000_000;
+        this.handler = handler;
+        this.due = capacity + wheelSize;
+
+        int entries = capacity + wheelSize + 1;
+        deadlines = new long[capacity];
+        payloads = new long[capacity];
+        kinds = new int[capacity];
+        generations = new int[capacity];
+        next = new int[entries];
+        prev = new int[entries];
+        for (int i = 0; i < capacity; i++)
+            next[i] = i + 1;
+        for (int sentinel = capacity; sentinel < entries; sentinel++) {
+            next[sentinel] = sentinel;
+            prev[sentinel] = sentinel;
+        }
+        Arrays.fill(generations, 1);
+        Arrays.fill(deadlines, -1);
+    }
+
+    /*
+     * Start a timer that fires after delayMillis, at the earliest on the next tick, and return its handle.
+     */
+    public synchronized long schedule(long delayMillis, int kind, long payload) {
+        if (freeHead == capacity)
+            throw new IllegalStateException("The timer wheel is full.");
+        int timer = freeHead;
+        freeHead = next[timer];
+        size++;
+
+        long deadline = tick + Math.max(1, (delayMillis * 1_000_000 + tickNanos - 1) / tickNanos);
+        deadlines[timer] = deadline;
+        kinds[timer] = kind;
+        payloads[timer] = payload;
+        link(timer, capacity + (int) (deadline & mask));
+        return (long) generations[timer] << 32 | timer;
+    }
+
+    /*
+     * Stop a timer before it fires. Return false when it already fired or was cancelled.
+     */
+    public synchronized boolean cancel(long handle) {
+        int timer = (int) handle;
+        if (handle <= 0 || timer < 0 || timer >= capacity || generations[timer] != (int) (handle >>> 32) || deadlines[timer] < 0)
+            return false;
+        unlink(timer);
+        free(timer);
+        return true;
+    }
+
+    /*
+     * Fire every timer that has come due by now.
+     */
+    public int advance() {
+        return advance((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /*
+     * Fire every timer that has come due by the given time, in milliseconds since the wheel was made,
+     * and return how many fired.
+     */
+    public int advance(long nowMillis) {
+        synchronized (this) {
+            long now = nowMillis * 1_000_000 / tickNanos;
+            // Once the wheel has turned all the way round, every bucket has been walked
+            long last = Math.min(now, tick + mask + 1);
+            for (long t = tick + 1; t <= last; t++) {
+                int sentinel = capacity + (int) (t & mask);
+                for (int timer = next[sentinel]; timer != sentinel; ) {
+                    int following = next[timer];
+                    if (deadlines[timer] <= now) {
+                        unlink(timer);
+                        link(timer, due);
+                    }
+                    timer = following;
+                }
+            }
+            tick = Math.max(tick, now);
+        }
+
+        int fired = 0;
+        while (true) {
+            long handle;
+            int kind;
+            long payload;
+            synchronized (this) {
+                int timer = next[due];
+                if (timer == due)
+                    return fired;
+                handle = (long) generations[timer] << 32 | timer;
+                kind = kinds[timer];
+                payload = payloads[timer];
+                unlink(timer);
+                free(timer);
+            }
+            handler.expired(handle, kind, payload);
+            fired++;
+        }
+    }
+
+    /*
+     * Return the time in milliseconds since the wheel was made, as advance() reads it.
+     */
+    public long now() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void link(int timer, int sentinel) {
+        int last = prev[sentinel];
+        next[last] = timer;
+        prev[timer] = last;
+        next[timer] = sentinel;
+        prev[sentinel] = timer;
+    }
+
+    private void unlink(int timer) {
+        next[prev[timer]] = next[timer];
+        prev[next[timer]] = prev[timer];
+    }
+
+    /*
+     * Put a timer back on the free list with a new generation, so its old handle no longer cancels anything.
+     */
+    private void free(int timer) {
+        generations[timer] = Math.max(1, generations[timer] + 1 & Integer.MAX_VALUE);
+        deadlines[timer] = -1;
+        next[timer] = freeHead;
+        freeHead = timer;
+        size--;
+    }
+}
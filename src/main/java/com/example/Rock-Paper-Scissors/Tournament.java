@@ -0,0 +1,289 @@
+package com.example.project_2_lansing;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Tournaments between computer players. Round robin and single elimination brackets are played on a
+ * work-stealing ForkJoinPool, one independent match per task. Every match gets its own generators
+ * derived from the tournament seed and the two players, and every bot gets a fresh opponent per match,
+ * so the standings of a seeded tournament are the same no matter which thread plays which match.
+ * Results are handed to a listener as matches finish instead of being kept, and the standings only
+ * hold a few numbers per bot.
+ * java -cp target/classes com.example.project_2_lansing.Tournament [--bots=64] [--rounds=100] [--elimination] [--seed=n] [--matches]
+ */
+public class Tournament {
+
+    // Points for winning and for drawing a match, a loss is worth nothing
+    static final int WIN_POINTS = 3;
+    static final int DRAW_POINTS = 1;
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final List<Bot> bots;
+    private final int roundsPerMatch;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /*
+     * A computer player. Every match asks the factory for a fresh opponent so matches share no state.
+     */
+    public record Bot(String name, Supplier<Opponent> factory) {
+    }
+
+    /*
+     * The result of one match between the bots at two indices of the roster.
+     */
+    public record MatchResult(int botA, int botB, int winsA, int winsB, int ties) {
+
+        /*
+         * Return the index of the winner, or -1 for a draw.
+         */
+        public int winner() {
+            return winsA > winsB ? botA : winsB > winsA ? botB : -1;
+        }
+    }
+
+    /*
+     * Where a bot finished in a round robin.
+     */
+    public record Standing(int bot, String name, long points, long roundDifference) {
+    }
+
+    public Tournament(List<Bot> bots, int roundsPerMatch, long seed, ForkJoinPool pool) {
+        if (bots.isEmpty())
+            throw new IllegalArgumentException("A tournament needs at least one bot.");
+        this.bots = List.copyOf(bots);
+        this.roundsPerMatch = roundsPerMatch;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /*
+     * Make a roster cycling through every kind of bot: random, biased at each difficulty tier,
+     * pattern-learning and scripted with a sequence drawn from the seed.
+     */
+    public static List<Bot> roster(int size, long seed) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        List<Bot> bots = new ArrayList<>(size);
+        Difficulty[] tiers = Difficulty.values();
+        int kinds = tiers.length + 2;
+        for (int i = 0; i < size; i++) {
+            int kind = i % kinds;
+            if (kind < tiers.length) {
+                Difficulty tier = tiers[kind];
+                bots.add(new Bot("bot-" + i + " (" + tier.getLabel() + ")", tier::newOpponent));
+            }
+            else if (kind == tiers.length)
+                bots.add(new Bot("bot-" + i + " (Random)", () -> new BiasedOpponent(0.5)));
+            else {
+                int[] script = rand.ints(1 + rand.nextInt(8), 0, 3).toArray();
+                bots.add(new Bot("bot-" + i + " (Scripted)", () -> new ScriptedOpponent(script)));
+            }
+        }
+        return bots;
+    }
+
+    /*
+     * Play one match between two bots of the roster.
+     */
+    public MatchResult playMatch(int botA, int botB) {
+        SplittableRandom randA = new SplittableRandom(matchSeed(botA, botB));
+        SplittableRandom randB = randA.split();
+        Opponent a = bots.get(botA).factory().get();
+        Opponent b = bots.get(botB).factory().get();
+
+        int winsA = 0;
+        int winsB = 0;
+        for (int round = 0; round < roundsPerMatch; round++) {
+            int moveA;
+            int moveB;
+            // A bot that looks at the other's move has to move second. When both do, they take turns
+            // committing to a random move first.
+            if (!a.peeks() || (b.peeks() && (round & 1) == 0)) {
+                moveA = a.peeks() ? randA.nextInt(3) : a.chooseMove(-1, randA);
+                moveB = b.chooseMove(moveA, randB);
+            }
+            else {
+                moveB = b.peeks() ? randB.nextInt(3) : b.chooseMove(-1, randB);
+                moveA = a.chooseMove(moveB, randA);
+            }
+            a.observe(moveB);
+            b.observe(moveA);
+
+            byte outcome = RoundEngine.outcome(moveA, moveB);
+            if (outcome == RoundEngine.WIN)
+                winsA++;
+            else if (outcome == RoundEngine.LOSS)
+                winsB++;
+        }
+        return new MatchResult(botA, botB, winsA, winsB, roundsPerMatch - winsA - winsB);
+    }
+
+    /*
+     * Seed of the match between two bots, the same whichever thread plays it.
+     */
+    long matchSeed(int botA, int botB) {
+        return (seed * GOLDEN_GAMMA + botA) * GOLDEN_GAMMA + botB;
+    }
+
+    /*
+     * Play every bot against every other bot once and return the standings, best first.
+     * Each result is passed to the listener as soon as its match ends, from whichever thread played it.
+     */
+    public List<Standing> roundRobin(Consumer<MatchResult> listener) {
+        int size = bots.size();
+        AtomicLongArray points = new AtomicLongArray(size);
+        AtomicLongArray roundDifference = new AtomicLongArray(size);
+        pool.invoke(new RowTask(0, size, points, roundDifference, listener));
+
+        List<Standing> standings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            standings.add(new Standing(i, bots.get(i).name(), points.get(i), roundDifference.get(i)));
+        standings.sort(Comparator.comparingLong(Standing::points).reversed()
+                .thenComparing(Comparator.comparingLong(Standing::roundDifference).reversed())
+                .thenComparingInt(Standing::bot));
+        return standings;
+    }
+
+    /*
+     * Plays the matches of a range of roster rows, where row i holds the matches of bot i against
+     * every later bot. Ranges are halved so idle workers can steal rows.
+     */
+    class RowTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final AtomicLongArray points;
+        private final AtomicLongArray roundDifference;
+        private final Consumer<MatchResult> listener;
+
+        RowTask(int from, int to, AtomicLongArray points, AtomicLongArray roundDifference, Consumer<MatchResult> listener) {
+            this.from = from;
+            this.to = to;
+            this.points = points;
+            this.roundDifference = roundDifference;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RowTask(from, middle, points, roundDifference, listener),
+                        new RowTask(middle, to, points, roundDifference, listener));
+                return;
+            }
+
+            // The row's own bot is added up locally and published once at the end of the row
+            int botA = from;
+            long rowPoints = 0;
+            long rowDifference = 0;
+            for (int botB = botA + 1; botB < bots.size(); botB++) {
+                MatchResult result = playMatch(botA, botB);
+                int difference = result.winsA() - result.winsB();
+                int winner = result.winner();
+                rowPoints += winner == botA ? WIN_POINTS : winner < 0 ? DRAW_POINTS : 0;
+                rowDifference += difference;
+                points.addAndGet(botB, winner == botB ? WIN_POINTS : winner < 0 ? DRAW_POINTS : 0);
+                roundDifference.addAndGet(botB, -difference);
+                listener.accept(result);
+            }
+            points.addAndGet(botA, rowPoints);
+            roundDifference.addAndGet(botA, rowDifference);
+        }
+    }
+
+    /*
+     * Play a single elimination bracket in roster order and return the champion's index. The matches
+     * of a bracket round are played in parallel. The bot with more round wins goes through, a match
+     * they won as many rounds of is settled by a coin flip from the match seed. An odd bot out gets a bye.
+     */
+    public int elimination(Consumer<MatchResult> listener) {
+        int[] alive = IntStream.range(0, bots.size()).toArray();
+        while (alive.length > 1) {
+            int[] field = alive;
+            int[] next = new int[(field.length + 1) / 2];
+            pool.submit(() -> IntStream.range(0, field.length / 2).parallel().forEach(pair -> {
+                MatchResult result = playMatch(field[2 * pair], field[2 * pair + 1]);
+                listener.accept(result);
+                next[pair] = advance(result);
+            })).join();
+            if (field.length % 2 == 1)
+                next[next.length - 1] = field[field.length - 1];
+            alive = next;
+        }
+        return alive[0];
+    }
+
+    /*
+     * Return which bot of a match goes through to the next bracket round.
+     */
+    int advance(MatchResult result) {
+        int winner = result.winner();
+        if (winner >= 0)
+            return winner;
+        return (matchSeed(result.botA(), result.botB()) & 1) == 0 ? result.botA() : result.botB();
+    }
+
+    public List<Bot> getBots() {
+        return bots;
+    }
+
+    public static void main(String[] args) {
+        int size = 64;
+        int rounds = 100;
+        long seed = 1;
+        boolean elimination = false;
+        boolean printMatches = false;
+        for (String arg : args) {
+            if (arg.startsWith("--bots="))
+                size = Integer.parseInt(arg.substring("--bots=".length()));
+            else if (arg.startsWith("--rounds="))
+                rounds = Integer.parseInt(arg.substring("--rounds=".length()));
+            else if (arg.startsWith("--seed="))
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.equals("--elimination"))
+                elimination = true;
+            else if (arg.equals("--matches"))
+                printMatches = true;
+        }
+
+        if (size < 1) {
+            System.err.println("A tournament needs at least one bot, use --bots=n with n of 1 or more.");
+            return;
+        }
+        Tournament tournament = new Tournament(roster(size, seed), rounds, seed, ForkJoinPool.commonPool());
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        Consumer<MatchResult> listener = !printMatches ? result -> { } : result -> {
+            synchronized (out) {
+                out.printf("%d vs %d: %d-%d-%d%n", result.botA(), result.botB(), result.winsA(), result.winsB(), result.ties());
+            }
+        };
+
+        long start = System.nanoTime();
+        if (elimination) {
+            int champion = tournament.elimination(listener);
+            out.printf("Champion: %s%n", tournament.getBots().get(champion).name());
+        }
+        else {
+            List<Standing> standings = tournament.roundRobin(listener);
+            for (int place = 0; place < Math.min(10, standings.size()); place++) {
+                Standing standing = standings.get(place);
+                out.printf("%2d. %-32s %6d points %+8d rounds%n", place + 1, standing.name(), standing.points(), standing.roundDifference());
+            }
+        }
+        out.printf("Played in %.3f s on %d threads%n", (System.nanoTime() - start) / 1e9, ForkJoinPool.commonPool().getParallelism());
+        out.flush();
+    }
+}
@@ -1,6 +1,11 @@
 module com.example.project_2_lansing {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires static jdk.incubator.vector;
 
 
     opens com.example.project_2_lansing to javafx.fxml;
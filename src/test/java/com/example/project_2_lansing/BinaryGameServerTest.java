@@ -0,0 +1,133 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+import static com.example.project_2_lansing.BinaryGameServer.FRAME_BYTES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGameServerTest {
+
+    @TempDir
+    Path dir;
+
+    private BinaryGameServer server;
+
+    @AfterEach
+    void close() throws IOException {
+        if (server != null)
+            server.close();
+    }
+
+    private static void frame(ByteBuffer out, long session, int sequence, byte op, int arg) {
+        out.putLong(session).putInt(sequence).put(op).put((byte) arg).putShort((short) 0);
+    }
+
+    /*
+     * Read the given number of replies.
+     */
+    private static ByteBuffer read(SocketChannel channel, int replies) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(replies * FRAME_BYTES);
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0)
+                throw new IOException("The server closed the connection.");
+        }
+        return in.flip();
+    }
+
+    private SocketChannel connect(BinaryGameServer server) throws IOException {
+        this.server = server;
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.start()));
+    }
+
+    @Test
+    void echoesTheSequenceOfEveryPipelinedRequestInOrder() throws IOException {
+        try (SocketChannel channel = connect(new BinaryGameServer(new SessionRegistry(new RandomSource(1)), 0))) {
+            ByteBuffer out = ByteBuffer.allocate(FRAME_BYTES);
+            frame(out, 2, 99, BinaryGameServer.NEW, Difficulty.NORMAL.ordinal());
+            channel.write(out.flip());
+            ByteBuffer reply = read(channel, 1);
+            long session = reply.getLong();
+            assertEquals(99, reply.getInt());
+            assertEquals(BinaryGameServer.OK, reply.get());
+
+            // sequence numbers need not count up, repeat or be positive, and frames may arrive cut in two
+            int[] sequences = { 7, -3, 7, Integer.MAX_VALUE };
+            out = ByteBuffer.allocate(sequences.length * FRAME_BYTES + FRAME_BYTES);
+            for (int sequence : sequences)
+                frame(out, session, sequence, BinaryGameServer.PLAY, RoundEngine.ROCK);
+            frame(out, session + 1, 42, BinaryGameServer.PLAY, RoundEngine.PAPER);
+            out.flip();
+            ByteBuffer first = out.duplicate().limit(FRAME_BYTES + FRAME_BYTES / 2);
+            channel.write(first);
+            channel.write(out.position(first.limit()));
+
+            reply = read(channel, sequences.length + 1);
+            byte[] statuses = { BinaryGameServer.OK, BinaryGameServer.OK, BinaryGameServer.OVER, BinaryGameServer.OVER };
+            for (int i = 0; i < sequences.length; i++) {
+                assertEquals(session, reply.getLong());
+                assertEquals(sequences[i], reply.getInt());
+                assertEquals(statuses[i], reply.get());
+                byte computerChoice = reply.get();
+                byte outcome = reply.get();
+                reply.get();
+                if (statuses[i] == BinaryGameServer.OK)
+                    assertEquals(RoundEngine.outcome(RoundEngine.ROCK, computerChoice), outcome);
+                else
+                    assertEquals(-1, computerChoice);
+            }
+            reply.getLong();
+            assertEquals(42, reply.getInt());
+            assertEquals(BinaryGameServer.NO_SESSION, reply.get());
+        }
+    }
+
+    @Test
+    void answersCompactGamesTheSameWay() throws IOException {
+        try (SocketChannel channel = connect(new BinaryGameServer(new SessionTable(1, new RandomSource(1)), 0))) {
+            ByteBuffer out = ByteBuffer.allocate(3 * FRAME_BYTES);
+            frame(out, 1, 5, BinaryGameServer.NEW, Difficulty.HARD.ordinal());
+            frame(out, 1, 4, BinaryGameServer.NEW, Difficulty.HARD.ordinal());
+            frame(out, 1, 3, BinaryGameServer.NEW, Difficulty.values().length);
+            channel.write(out.flip());
+            ByteBuffer reply = read(channel, 3);
+            int[] sequences = { 5, 4, 3 };
+            byte[] statuses = { BinaryGameServer.OK, BinaryGameServer.FULL, BinaryGameServer.BAD_REQUEST };
+            for (int i = 0; i < 3; i++) {
+                long session = reply.getLong();
+                assertEquals(sequences[i], reply.getInt());
+                assertEquals(statuses[i], reply.get());
+                assertEquals(i == 0, session != 0);
+                reply.position(reply.position() + 3);
+            }
+        }
+    }
+
+    @Test
+    void answersARoundThatCouldNotBeLogged() throws IOException {
+        MatchLog log = new MatchLog(dir.resolve("matches.log"), 1);
+        SessionRegistry registry = new SessionRegistry(new RandomSource(1), log);
+        BinaryGameServer server = new BinaryGameServer(registry, 0);
+        GameSession game = registry.create("", Difficulty.NORMAL, 3);
+        log.close();
+
+        ByteBuffer reply = ByteBuffer.allocate(FRAME_BYTES);
+        server.execute(game.getId(), 11, BinaryGameServer.PLAY, (byte) RoundEngine.SCISSORS, reply);
+        reply.flip();
+        assertEquals(game.getId(), reply.getLong());
+        assertEquals(11, reply.getInt());
+        assertEquals(BinaryGameServer.OK, reply.get());
+        byte computerChoice = reply.get();
+        assertEquals(RoundEngine.outcome(RoundEngine.SCISSORS, computerChoice), reply.get());
+        assertEquals(1, game.getStats().snapshot().rounds());
+        registry.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDispatcherTest {
+
+    private static void publishRounds(EventDispatcher events, int from, int to) {
+        GameEvent event = new GameEvent();
+        for (int round = from; round < to; round++) {
+            event.roundPlayed(1, round, RoundEngine.ROCK, RoundEngine.PAPER, RoundEngine.LOSS, Difficulty.NORMAL, 0);
+            events.publish(event);
+        }
+    }
+
+    @Test
+    void overflowKeepsEveryEventInOrderWithoutWaiting() {
+        EventDispatcher events = new EventDispatcher();
+        List<Integer> rounds = new ArrayList<>();
+        EventDispatcher.Subscription subscription = events.subscribe("test", 4, EventDispatcher.BackPressure.OVERFLOW,
+                (event, endOfBatch) -> rounds.add(event.getRound()));
+
+        publishRounds(events, 0, 10);
+        assertEquals(6, subscription.getOverflowed());
+        assertEquals(10, subscription.getBacklog());
+        assertEquals(10, subscription.poll());
+
+        publishRounds(events, 10, 12);
+        assertEquals(2, subscription.poll());
+        assertEquals(6, subscription.getOverflowed());
+        assertEquals(0, subscription.getDropped());
+        for (int round = 0; round < 12; round++)
+            assertEquals(round, rounds.get(round));
+    }
+
+    @Test
+    void dropSkipsWhatDoesNotFit() {
+        EventDispatcher events = new EventDispatcher();
+        List<Integer> rounds = new ArrayList<>();
+        EventDispatcher.Subscription subscription = events.subscribe("test", 4, EventDispatcher.BackPressure.DROP,
+                (event, endOfBatch) -> rounds.add(event.getRound()));
+
+        publishRounds(events, 0, 10);
+        assertEquals(4, subscription.poll());
+        assertEquals(6, subscription.getDropped());
+        assertEquals(List.of(0, 1, 2, 3), rounds);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static void appendRounds(MatchLog log, long sessionId, int from, int to) throws IOException {
+        for (int round = from; round < to; round++)
+            log.append(1000L + round, sessionId, round, round % 3, (round + 1) % 3, RoundEngine.LOSS, 2);
+    }
+
+    @Test
+    void readsBackWhatWasAppended() throws IOException {
+        Path path = dir.resolve("matches.log");
+        try (MatchLog log = new MatchLog(path, 8)) {
+            appendRounds(log, 7, 1, 21);
+        }
+        try (MatchLogReader reader = new MatchLogReader(path)) {
+            assertEquals(20, reader.size());
+            assertEquals(7, reader.sessionId(19));
+            assertEquals(20, reader.round(19));
+            assertEquals(1019, reader.timestamp(18));
+        }
+    }
+
+    @Test
+    void cutsOffAHalfWrittenRoundBeforeAppending() throws IOException {
+        Path path = dir.resolve("matches.log");
+        try (MatchLog log = new MatchLog(path)) {
+            appendRounds(log, 1, 1, 6);
+        }
+        // a crash in the middle of writing the sixth round
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[MatchLog.RECORD_SIZE / 2]));
+        }
+
+        try (MatchLog log = new MatchLog(path)) {
+            appendRounds(log, 2, 1, 4);
+        }
+        assertEquals(MatchLog.HEADER_SIZE + 8L * MatchLog.RECORD_SIZE, Files.size(path));
+        try (MatchLogReader reader = new MatchLogReader(path)) {
+            assertEquals(8, reader.size());
+            assertEquals(1, reader.sessionId(4));
+            assertEquals(5, reader.round(4));
+            for (long i = 5; i < 8; i++) {
+                assertEquals(2, reader.sessionId(i));
+                assertEquals(i - 4, reader.round(i));
+                assertEquals(RoundEngine.LOSS, reader.outcome(i));
+            }
+        }
+    }
+
+    @Test
+    void rewritesAHeaderThatWasCutShort() throws IOException {
+        Path path = dir.resolve("matches.log");
+        try (MatchLog log = new MatchLog(path)) {
+            appendRounds(log, 1, 1, 2);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(MatchLog.HEADER_SIZE / 2);
+        }
+        try (MatchLog log = new MatchLog(path)) {
+            appendRounds(log, 3, 1, 2);
+        }
+        try (MatchLogReader reader = new MatchLogReader(path)) {
+            assertEquals(1, reader.size());
+            assertEquals(3, reader.sessionId(0));
+        }
+    }
+
+    @Test
+    void refusesAFileThatIsNotAMatchLog() throws IOException {
+        Path path = dir.resolve("notes.txt");
+        Files.writeString(path, "these are not the rounds you are looking for");
+        assertThrows(IOException.class, () -> new MatchLog(path));
+        assertEquals("these are not the rounds you are looking for", Files.readString(path));
+    }
+}
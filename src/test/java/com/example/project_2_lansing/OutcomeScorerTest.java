@@ -0,0 +1,54 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeScorerTest {
+
+    private static byte[] moves(SplittableRandom random, int length) {
+        byte[] moves = new byte[length];
+        for (int i = 0; i < length; i++)
+            moves[i] = (byte) random.nextInt(3);
+        return moves;
+    }
+
+    @Test
+    void scoresLikeTheEngine() {
+        byte[] player = { 0, 0, 0, 1, 1, 1, 2, 2, 2 };
+        byte[] computer = { 0, 1, 2, 0, 1, 2, 0, 1, 2 };
+        byte[] outcomes = new byte[player.length];
+        OutcomeScorer.Counts counts = OutcomeScorer.scoreScalar(player, computer, outcomes, 0, player.length);
+        assertEquals(new OutcomeScorer.Counts(3, 3, 3), counts);
+        for (int i = 0; i < player.length; i++)
+            assertEquals(RoundEngine.outcome(player[i], computer[i]), outcomes[i]);
+    }
+
+    @Test
+    void theVectorApiScoresLikeTheScalarLoop() {
+        assertTrue(OutcomeScorer.isVectorized(), "The tests run with --add-modules jdk.incubator.vector");
+        SplittableRandom random = new SplittableRandom(5);
+        // every length up to a few vectors, so every tail length is seen, and a long column
+        int[] lengths = new int[260];
+        for (int i = 0; i < 259; i++)
+            lengths[i] = i;
+        lengths[259] = 100_003;
+        for (int length : lengths) {
+            byte[] player = moves(random, length);
+            byte[] computer = moves(random, length);
+            for (int from : new int[] { 0, 3 }) {
+                if (from > length)
+                    continue;
+                byte[] expected = new byte[length];
+                byte[] actual = new byte[length];
+                OutcomeScorer.Counts scalar = OutcomeScorer.scoreScalar(player, computer, expected, from, length);
+                OutcomeScorer.Counts vector = VectorOutcomeScorer.score(player, computer, actual, from, length);
+                assertEquals(scalar, vector, "length " + length + " from " + from);
+                assertArrayEquals(expected, actual, "length " + length + " from " + from);
+                assertEquals(scalar, VectorOutcomeScorer.score(player, computer, null, from, length));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsTheBestStreaksOfEveryDifficulty() throws IOException {
+        Path path = dir.resolve("profiles.dat");
+        try (ProfileStore store = new ProfileStore(path)) {
+            store.recordGame("ada", Difficulty.EASY, 5, 1, 0, 4, 1);
+            store.recordGame("ada", Difficulty.HARD, 1, 6, 0, 1, 5);
+            store.recordGame("ada", Difficulty.EASY, 2, 0, 0, 2, 0);
+        }
+        try (ProfileStore store = new ProfileStore(path)) {
+            PlayerProfile profile = store.get("ada");
+            assertEquals(4, profile.getLongestWinStreak(Difficulty.EASY));
+            assertEquals(1, profile.getLongestLossStreak(Difficulty.EASY));
+            assertEquals(1, profile.getLongestWinStreak(Difficulty.HARD));
+            assertEquals(5, profile.getLongestLossStreak(Difficulty.HARD));
+            assertEquals(4, profile.getLongestWinStreak());
+            assertEquals(5, profile.getLongestLossStreak());
+        }
+    }
+
+    @Test
+    void upgradesAStoreOfTheFirstVersion() throws IOException {
+        Path path = dir.resolve("profiles.dat");
+        int difficulties = Difficulty.values().length;
+        ByteBuffer file = ByteBuffer.allocate(ProfileStore.HEADER_SIZE + ProfileStore.V1_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        file.putLong(ProfileStore.MAGIC).putInt(1).putInt(ProfileStore.V1_RECORD_SIZE);
+        byte[] name = "grace".getBytes(StandardCharsets.UTF_8);
+        file.put((byte) name.length).put(name).put(new byte[ProfileStore.NAME_BYTES - 1 - name.length]);
+        for (int i = 0; i < difficulties; i++)
+            file.putLong(3).putLong(2).putLong(1);
+        file.putInt(3).putInt(2);
+        Files.write(path, file.array());
+
+        try (ProfileStore store = new ProfileStore(path)) {
+            PlayerProfile profile = store.get("grace");
+            assertEquals(3, profile.getWins(Difficulty.NORMAL));
+            assertEquals(3, profile.getLongestWinStreak());
+            assertEquals(2, profile.getLongestLossStreak());
+            assertEquals(0, profile.getLongestWinStreak(Difficulty.NORMAL));
+            store.recordGame("grace", Difficulty.NORMAL, 1, 0, 0, 1, 0);
+        }
+        assertEquals(ProfileStore.HEADER_SIZE + ProfileStore.RECORD_SIZE, Files.size(path));
+        try (ProfileStore store = new ProfileStore(path)) {
+            assertEquals(4, store.get("grace").getWins(Difficulty.NORMAL));
+            assertEquals(1, store.get("grace").getLongestWinStreak(Difficulty.NORMAL));
+        }
+    }
+
+    @Test
+    void rewritesAHeaderThatWasCutShort() throws IOException {
+        Path path = dir.resolve("profiles.dat");
+        ByteBuffer header = ByteBuffer.allocate(ProfileStore.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(ProfileStore.MAGIC).putInt(ProfileStore.VERSION).putInt(ProfileStore.RECORD_SIZE);
+        Files.write(path, Arrays.copyOf(header.array(), 5));
+
+        try (ProfileStore store = new ProfileStore(path)) {
+            assertEquals(0, store.size());
+            store.recordGame("ada", Difficulty.EASY, 1, 0, 0, 1, 0);
+        }
+        assertEquals(ProfileStore.HEADER_SIZE + ProfileStore.RECORD_SIZE, Files.size(path));
+    }
+
+    @Test
+    void refusesAShortFileThatIsNotAStore() throws IOException {
+        Path path = dir.resolve("profiles.dat");
+        Files.write(path, "not a store".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> new ProfileStore(path));
+    }
+}
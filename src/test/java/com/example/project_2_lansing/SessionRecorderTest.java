@@ -0,0 +1,93 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    /*
+     * Play a game of the given seed and record it.
+     */
+    private static SessionRecording play(long seed, Difficulty difficulty, int rounds) {
+        SessionRecording recording = new SessionRecording(RandomSource.DEFAULT_ALGORITHM, seed, difficulty, rounds);
+        RoundEngine engine = new RoundEngine(RandomSource.generator(RandomSource.DEFAULT_ALGORITHM, seed));
+        engine.setDifficulty(difficulty);
+        engine.setRoundsToPlay(rounds);
+        for (int round = 0; round < rounds; round++) {
+            int move = (int) (seed + round * round) % 3;
+            recording.add(move, RoundEngine.outcome(move, engine.playRound(move)));
+        }
+        return recording;
+    }
+
+    @Test
+    void replaysWhatWasRecorded() throws IOException {
+        Path path = dir.resolve("sessions.rec");
+        try (SessionRecorder recorder = new SessionRecorder(path)) {
+            recorder.write(play(1, Difficulty.EASY, 30));
+            recorder.write(play(2, Difficulty.MIND_READER, 200));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            byte[] magic = new byte[8];
+            file.readFully(magic);
+            assertEquals("RPSREC", new String(magic, 2, 6, StandardCharsets.US_ASCII));
+        }
+
+        List<SessionRecording> recordings = SessionRecorder.readAll(path);
+        assertEquals(2, recordings.size());
+        assertEquals(200, recordings.get(1).size());
+        assertEquals(Difficulty.MIND_READER, recordings.get(1).getDifficulty());
+        for (SessionRecording recording : recordings)
+            assertTrue(SessionReplayer.replay(recording).matches());
+    }
+
+    @Test
+    void leavesOutAGameThatWasCutShort() throws IOException {
+        Path path = dir.resolve("sessions.rec");
+        try (SessionRecorder recorder = new SessionRecorder(path)) {
+            recorder.write(play(1, Difficulty.HARD, 40));
+            recorder.write(play(2, Difficulty.HARD, 40));
+        }
+        long size = Files.size(path);
+        try (var channel = Files.newByteChannel(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 10);
+        }
+
+        List<SessionRecording> recordings = SessionRecorder.readAll(path);
+        assertEquals(1, recordings.size());
+        assertTrue(SessionReplayer.replay(recordings.get(0)).matches());
+        assertEquals(1, recordings.get(0).getSeed());
+    }
+
+    @Test
+    void refusesARecordingLongerThanItsGame() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(SessionRecorder.MAGIC);
+        out.writeInt(SessionRecorder.VERSION);
+        out.writeUTF(RandomSource.DEFAULT_ALGORITHM);
+        out.writeLong(1);
+        out.writeByte(Difficulty.EASY.ordinal());
+        out.writeInt(10);
+        out.writeInt(Integer.MAX_VALUE);
+        Path path = dir.resolve("sessions.rec");
+        Files.write(path, bytes.toByteArray());
+
+        assertThrows(IOException.class, () -> SessionRecorder.readAll(path));
+    }
+}
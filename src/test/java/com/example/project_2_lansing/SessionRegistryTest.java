@@ -0,0 +1,50 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void savesTheRoundsOffThePlayingThread() throws IOException {
+        Path logPath = dir.resolve("matches.log");
+        Path recordPath = dir.resolve("sessions.rec");
+        MatchLog log = new MatchLog(logPath);
+        SessionRecorder recorder = new SessionRecorder(recordPath);
+        GameSession finished;
+        GameSession abandoned;
+        try (SessionRegistry registry = new SessionRegistry(new RandomSource(3), log, recorder)) {
+            finished = registry.create("ada", Difficulty.MIND_READER, 20);
+            abandoned = registry.create("grace", Difficulty.EASY, 20);
+            for (int round = 0; round < 20; round++)
+                assertTrue(finished.play(round % 3) >= 0);
+            abandoned.play(RoundEngine.ROCK);
+            assertNotNull(registry.remove(abandoned.getId()));
+        }
+        log.close();
+        recorder.close();
+
+        try (MatchLogReader reader = new MatchLogReader(logPath)) {
+            assertEquals(21, reader.size());
+            long finishedRounds = 0;
+            for (long i = 0; i < reader.size(); i++) {
+                if (reader.sessionId(i) == finished.getId())
+                    finishedRounds++;
+            }
+            assertEquals(20, finishedRounds);
+        }
+        List<SessionRecording> recordings = SessionRecorder.readAll(recordPath);
+        assertEquals(1, recordings.size());
+        assertEquals(finished.getSeed(), recordings.get(0).getSeed());
+        assertTrue(SessionReplayer.replay(recordings.get(0)).matches());
+    }
+}
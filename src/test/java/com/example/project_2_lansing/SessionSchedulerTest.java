@@ -0,0 +1,118 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSchedulerTest {
+
+    @TempDir
+    Path dir;
+
+    private final SessionRegistry registry = new SessionRegistry(new RandomSource(1));
+
+    @Test
+    void evictsAGameNobodyPlays() {
+        SessionScheduler scheduler = new SessionScheduler(registry, null, 4, 0, 100, 50);
+        long id = registry.create("ada", Difficulty.NORMAL, 5).getId();
+        scheduler.created(id);
+
+        scheduler.advance(60);
+        registry.get(id).play(RoundEngine.ROCK);
+        scheduler.played(id);
+        scheduler.advance(150);
+        assertNotNull(registry.get(id));
+        scheduler.advance(160);
+        assertNull(registry.get(id));
+        assertEquals(1, scheduler.getIdleEvictions());
+        assertEquals(0, scheduler.pendingTimers());
+    }
+
+    @Test
+    void evictsAFinishedGameAfterTheFinishDelay() {
+        SessionScheduler scheduler = new SessionScheduler(registry, null, 4, 0, 1000, 50);
+        long id = registry.create("ada", Difficulty.NORMAL, 1).getId();
+        scheduler.created(id);
+        registry.get(id).play(RoundEngine.PAPER);
+        scheduler.played(id);
+
+        scheduler.advance(40);
+        assertNotNull(registry.get(id));
+        scheduler.advance(50);
+        assertNull(registry.get(id));
+        assertEquals(1, scheduler.getFinishedEvictions());
+        assertFalse(scheduler.evict(id));
+    }
+
+    @Test
+    void picksAMoveForAPlayerWhoTakesTooLong() {
+        SessionScheduler scheduler = new SessionScheduler(registry, null, 4, 30, 1000, 1000);
+        GameSession session = registry.create("ada", Difficulty.NORMAL, 2);
+        scheduler.created(session.getId());
+
+        scheduler.advance(30);
+        assertEquals(1, session.getStats().snapshot().rounds());
+        scheduler.advance(60);
+        assertTrue(session.isGameOver());
+        assertEquals(2, scheduler.getMovesTimedOut());
+        scheduler.advance(1060);
+        assertNull(registry.get(session.getId()));
+    }
+
+    @Test
+    void removesAGameWhoseTimersDoNotFit() {
+        SessionScheduler scheduler = new SessionScheduler(registry, null, 1, 1000, 1000, 1000);
+        int hosted = 0;
+        while (true) {
+            long id = registry.create("", Difficulty.NORMAL, 3).getId();
+            try {
+                scheduler.created(id);
+                hosted++;
+            }
+            catch (IllegalStateException ex) {
+                assertNull(registry.get(id));
+                break;
+            }
+        }
+        assertEquals(hosted, registry.size());
+        assertEquals(hosted * 2, scheduler.pendingTimers());
+    }
+
+    @Test
+    void addsGamesWithoutANameToTheAnonymousProfile() throws IOException {
+        try (ProfileStore profiles = new ProfileStore(dir.resolve("profiles.dat"))) {
+            SessionScheduler scheduler = new SessionScheduler(registry, profiles, 4, 0, 1000, 1000);
+            GameSession named = registry.create("ada", Difficulty.EASY, 3);
+            GameSession anonymous = registry.create("", Difficulty.EASY, 3);
+            for (GameSession session : new GameSession[] { named, anonymous }) {
+                scheduler.created(session.getId());
+                session.play(RoundEngine.ROCK);
+                session.play(RoundEngine.ROCK);
+                assertTrue(scheduler.evict(session.getId()));
+            }
+
+            SessionTable table = new SessionTable(2, new RandomSource(1));
+            SessionScheduler compact = new SessionScheduler(table, profiles, 0, 1000, 1000);
+            long id = table.create(Difficulty.EASY, 5);
+            compact.created(id);
+            for (int i = 0; i < 3; i++)
+                table.play(id, RoundEngine.PAPER);
+            assertTrue(compact.evict(id));
+            assertFalse(table.isHosted(id));
+
+            scheduler.close();
+            compact.close();
+            PlayerProfile total = profiles.get(ProfileStore.ANONYMOUS);
+            assertEquals(5, total.getWins(Difficulty.EASY) + total.getLosses(Difficulty.EASY) + total.getTies(Difficulty.EASY));
+            PlayerProfile ada = profiles.get("ada");
+            assertEquals(2, ada.getWins(Difficulty.EASY) + ada.getLosses(Difficulty.EASY) + ada.getTies(Difficulty.EASY));
+            // enough anonymous rounds for a leaderboard still leave it out
+            profiles.recordGame(ProfileStore.ANONYMOUS, Difficulty.EASY, 10, 0, 0, 10, 0);
+            assertTrue(profiles.leaderboard(Difficulty.EASY, 10).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTableTest {
+
+    @Test
+    void playsLikeTheEngineOnTheBiasedDifficulties() {
+        SessionTable table = new SessionTable(4, new RandomSource(1));
+        SplittableRandom moves = new SplittableRandom(9);
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.isAdaptive())
+                continue;
+            long id = table.create(difficulty, 500, 1234);
+            RoundEngine engine = new RoundEngine(RandomSource.generator(SessionTable.ALGORITHM, 1234));
+            engine.setDifficulty(difficulty);
+            for (int round = 0; round < 500; round++) {
+                int move = moves.nextInt(3);
+                assertEquals(engine.playRound(move), table.play(id, move), difficulty + " round " + round);
+            }
+            assertEquals(engine.getWins(), table.getWins(id));
+            assertEquals(engine.getLosses(), table.getLosses(id));
+            assertEquals(engine.getTies(), table.getTies(id));
+            assertTrue(table.remove(id));
+        }
+    }
+
+    @Test
+    void stopsPlayingOnceTheGameIsOver() {
+        SessionTable table = new SessionTable(1, new RandomSource(1));
+        long id = table.create(Difficulty.NORMAL, 2);
+        assertTrue(table.play(id, RoundEngine.ROCK) >= 0);
+        assertFalse(table.isGameOver(id));
+        assertTrue(table.play(id, RoundEngine.PAPER) >= 0);
+        assertTrue(table.isGameOver(id));
+        assertEquals(-1, table.play(id, RoundEngine.SCISSORS));
+        assertTrue(table.isHosted(id));
+    }
+
+    @Test
+    void anIdStopsWorkingWhenItsSlotIsReused() {
+        SessionTable table = new SessionTable(1, new RandomSource(1));
+        long first = table.create(Difficulty.EASY, 3);
+        assertTrue(table.remove(first));
+        assertFalse(table.isHosted(first));
+        assertFalse(table.remove(first));
+
+        long second = table.create(Difficulty.HARD, 3);
+        assertEquals(first & 0xFFFFFFFFL, second & 0xFFFFFFFFL);
+        assertNotEquals(first, second);
+        assertFalse(table.isHosted(first));
+        assertThrows(IllegalArgumentException.class, () -> table.play(first, RoundEngine.ROCK));
+        assertTrue(table.isHosted(second));
+        assertEquals(Difficulty.HARD, table.getDifficulty(second));
+    }
+
+    @Test
+    void refusesGamesWhenFull() {
+        SessionTable table = new SessionTable(2, new RandomSource(1));
+        table.create(Difficulty.NORMAL, 1);
+        table.create(Difficulty.NORMAL, 1);
+        assertEquals(2, table.size());
+        assertThrows(IllegalStateException.class, () -> table.create(Difficulty.NORMAL, 1));
+        assertFalse(table.isHosted(-1));
+        assertFalse(table.isHosted(7));
+    }
+}
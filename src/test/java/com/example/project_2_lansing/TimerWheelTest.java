@@ -0,0 +1,64 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private final List<Long> fired = new ArrayList<>();
+    private final TimerWheel wheel = new TimerWheel(4, 8, 10, (handle, kind, payload) -> fired.add(handle));
+
+    @Test
+    void firesWithinOneTickOfItsDelay() {
+        long handle = wheel.schedule(25, 0, 1);
+        assertEquals(0, wheel.advance(24));
+        assertEquals(1, wheel.advance(35));
+        assertEquals(List.of(handle), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void waitsOutTurnsOfTheWheel() {
+        long handle = wheel.schedule(200, 0, 1);
+        assertEquals(0, wheel.advance(100));
+        assertEquals(0, wheel.advance(190));
+        assertEquals(1, wheel.advance(200));
+        assertEquals(List.of(handle), fired);
+    }
+
+    @Test
+    void aCancelledTimerNeverFires() {
+        long handle = wheel.schedule(20, 0, 1);
+        assertTrue(wheel.cancel(handle));
+        assertFalse(wheel.cancel(handle));
+        assertEquals(0, wheel.advance(1000));
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void aStaleHandleCannotCancelATimerThatReusedItsSlot() {
+        long stale = wheel.schedule(20, 0, 1);
+        assertTrue(wheel.cancel(stale));
+        long reused = wheel.schedule(20, 0, 2);
+        assertEquals((int) stale, (int) reused);
+        assertNotEquals(stale, reused);
+
+        assertFalse(wheel.cancel(stale));
+        assertEquals(1, wheel.advance(20));
+        assertEquals(List.of(reused), fired);
+        assertFalse(wheel.cancel(reused));
+    }
+
+    @Test
+    void refusesTimersWhenFull() {
+        for (int i = 0; i < wheel.capacity(); i++)
+            wheel.schedule(10, 0, i);
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(10, 0, 4));
+        assertEquals(4, wheel.advance(10));
+        wheel.schedule(10, 0, 4);
+    }
+}
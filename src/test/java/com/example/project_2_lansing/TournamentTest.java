@@ -0,0 +1,41 @@
+package com.example.project_2_lansing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private static final long SEED = 77;
+
+    private static Tournament tournament(ForkJoinPool pool) {
+        return new Tournament(Tournament.roster(12, SEED), 200, SEED, pool);
+    }
+
+    @Test
+    void standingsDoNotDependOnTheNumberOfThreads() {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(8);
+        try {
+            List<Tournament.Standing> alone = tournament(one).roundRobin(result -> { });
+            List<Tournament.Standing> together = tournament(many).roundRobin(result -> { });
+            assertEquals(alone, together);
+            assertEquals(12, alone.size());
+
+            assertEquals(tournament(one).elimination(result -> { }), tournament(many).elimination(result -> { }));
+            assertEquals(tournament(one).playMatch(2, 7), tournament(many).playMatch(2, 7));
+        }
+        finally {
+            one.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    void refusesAnEmptyRoster() {
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(List.of(), 10, SEED, ForkJoinPool.commonPool()));
+    }
+}